@@ -0,0 +1,79 @@
+package db.migration;
+
+import entrega.search.TextNormalizer;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Preenche as colunas normalizadas (V4) das linhas já existentes com o TextNormalizer, o mesmo usado pelo
+// NormalizedColumnsListener nas gravações, para que as buscas encontrem os dados antigos. O e-mail normalizado
+// passa a ser único: clientes antigos com variações do mesmo e-mail (maiúsculas, espaços) interrompem a
+// migração com a lista das duplicatas, para serem resolvidas antes de criar o índice.
+public class V5__BackfillSearchColumns extends BaseJavaMigration {
+
+    // Duplicatas listadas na mensagem de erro
+    private static final int MAX_REPORTED = 20;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, email FROM customers");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE customers SET email_normalized = ? WHERE id = ?")) {
+            while (rows.next()) {
+                update.setString(1, TextNormalizer.email(rows.getString("email")));
+                update.setLong(2, rows.getLong("id"));
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+        checkDuplicateEmails(connection);
+        try (Statement index = connection.createStatement()) {
+            index.execute("CREATE UNIQUE INDEX idx_customers_email_normalized ON customers (email_normalized)");
+        }
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, city, state, phone, zip_code FROM profiles");
+             PreparedStatement update = connection.prepareStatement("UPDATE profiles SET city_normalized = ?, "
+                     + "state_normalized = ?, phone_digits = ?, zip_code_digits = ? WHERE id = ?")) {
+            while (rows.next()) {
+                update.setString(1, TextNormalizer.city(rows.getString("city")));
+                update.setString(2, TextNormalizer.state(rows.getString("state")));
+                update.setString(3, TextNormalizer.digits(rows.getString("phone")));
+                update.setString(4, TextNormalizer.digits(rows.getString("zip_code")));
+                update.setLong(5, rows.getLong("id"));
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+
+    private static void checkDuplicateEmails(Connection connection) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        long total = 0;
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT email_normalized, COUNT(*), MIN(id), MAX(id) FROM customers "
+                     + "WHERE email_normalized IS NOT NULL GROUP BY email_normalized HAVING COUNT(*) > 1 "
+                     + "ORDER BY email_normalized")) {
+            while (rows.next()) {
+                total++;
+                if (duplicates.size() < MAX_REPORTED) {
+                    duplicates.add(rows.getString(1) + " (" + rows.getLong(2) + " clientes, ids " + rows.getLong(3)
+                            + " a " + rows.getLong(4) + ")");
+                }
+            }
+        }
+        if (total > 0) {
+            throw new FlywayException(total + " e-mail(s) de clientes duplicados após a normalização; resolva-os "
+                    + "antes de migrar: " + String.join(", ", duplicates) + (total > MAX_REPORTED ? ", ..." : ""));
+        }
+    }
+}
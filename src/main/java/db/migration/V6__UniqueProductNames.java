@@ -0,0 +1,46 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Torna único o índice do nome do produto, a chave do upsert da importação. Produtos antigos com o mesmo
+// nome interrompem a migração com a lista das duplicatas, para serem resolvidas antes de criar o índice.
+public class V6__UniqueProductNames extends BaseJavaMigration {
+
+    // Duplicatas listadas na mensagem de erro
+    private static final int MAX_REPORTED = 20;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        List<String> duplicates = new ArrayList<>();
+        long total = 0;
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT name, COUNT(*), MIN(id), MAX(id) FROM products "
+                     + "GROUP BY name HAVING COUNT(*) > 1 ORDER BY name")) {
+            while (rows.next()) {
+                total++;
+                if (duplicates.size() < MAX_REPORTED) {
+                    duplicates.add(rows.getString(1) + " (" + rows.getLong(2) + " produtos, ids " + rows.getLong(3)
+                            + " a " + rows.getLong(4) + ")");
+                }
+            }
+        }
+        if (total > 0) {
+            throw new FlywayException(total + " nome(s) de produtos duplicados; resolva-os antes de migrar: "
+                    + String.join(", ", duplicates) + (total > MAX_REPORTED ? ", ..." : ""));
+        }
+        try (Statement index = connection.createStatement()) {
+            index.execute("DROP INDEX idx_products_name");
+            index.execute("CREATE UNIQUE INDEX idx_products_name ON products (name)");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package entrega;
+
+// Identificador desta execução da aplicação, em base 36. Prefixa ETags e ids de eventos (/events): o banco em
+// memória é recriado e ids, versões e sequências recomeçam a cada inicialização, então valores de outra
+// execução não podem ser confundidos com os atuais.
+public final class RunEpoch {
+
+    public static final String VALUE = Long.toString(System.currentTimeMillis(), 36);
+
+    private RunEpoch() {
+    }
+}
@@ -0,0 +1,392 @@
+package entrega.analytics;
+
+import entrega.dtos.DailyRevenueDTO;
+import entrega.dtos.OrderDTO;
+import entrega.dtos.OrderItemDTO;
+import entrega.dtos.ProductSalesDTO;
+import entrega.dtos.SalesSummaryDTO;
+import entrega.events.OrderChangedEvent;
+import entrega.models.enums.OrderStatus;
+import entrega.repositories.OrderItemRepository;
+import entrega.repositories.OrderRepository;
+import entrega.services.ProductCatalog;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Agregados de vendas em memória para /analytics: um balde por dia com pedidos e receita (em centavos) e, em
+// arrays primitivos paralelos ordenados por slot, as unidades e a receita de cada produto vendido no dia.
+// Pedidos cancelados ficam de fora. Carregados do banco na inicialização e ajustados a cada commit do
+// OrderService; cada alteração troca só o balde do dia (copy-on-write), então as consultas leem sem lock.
+// Os baldes ficam em páginas de DAYS_PER_PAGE dias: uma alteração copia a página do dia e o índice de
+// páginas, não o histórico inteiro.
+// Intervalos com mais de fork-threshold-days dias são somados em paralelo no pool fork-join comum.
+@ApplicationScoped
+public class SalesRollup {
+
+    private static final Logger LOG = Logger.getLogger(SalesRollup.class);
+
+    @Inject
+    OrderRepository orderRepository;
+
+    @Inject
+    OrderItemRepository orderItemRepository;
+
+    @Inject
+    ProductCatalog productCatalog;
+
+    @ConfigProperty(name = "api.analytics.fork-threshold-days", defaultValue = "64")
+    int forkThreshold;
+
+    private volatile Rollup rollup = Rollup.EMPTY;
+
+    // Slot de cada produto nos arrays dos baldes; só é usado por quem altera (sob o lock do bean)
+    private final Map<Long, Integer> slotByProduct = new HashMap<>();
+
+    void onStart(@Observes StartupEvent event) {
+        reload();
+    }
+
+    public synchronized void reload() {
+        slotByProduct.clear();
+        TreeMap<Long, Delta> deltas = new TreeMap<>();
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (Object[] row : orderRepository.countAndSumByDay()) {
+                Delta delta = deltas.computeIfAbsent(((LocalDate) row[0]).toEpochDay(), day -> new Delta());
+                delta.orders += (Long) row[1];
+                delta.revenueCents += toCents((BigDecimal) row[2]);
+            }
+            for (Object[] row : orderItemRepository.sumByDayAndProduct()) {
+                deltas.computeIfAbsent(((LocalDate) row[0]).toEpochDay(), day -> new Delta())
+                        .addProduct(slot((Long) row[1]), (Long) row[2], toCents((BigDecimal) row[3]));
+            }
+        });
+        Rollup loaded = Rollup.EMPTY;
+        if (!deltas.isEmpty()) {
+            long firstPage = Rollup.page(deltas.firstKey());
+            DayBucket[][] pages = new DayBucket[(int) (Rollup.page(deltas.lastKey()) - firstPage + 1)][];
+            deltas.forEach((day, delta) -> {
+                int page = (int) (Rollup.page(day) - firstPage);
+                if (pages[page] == null) {
+                    pages[page] = new DayBucket[Rollup.DAYS_PER_PAGE];
+                }
+                pages[page][Rollup.offset(day)] = DayBucket.EMPTY.plus(delta);
+            });
+            loaded = new Rollup(firstPage, pages, productIds());
+        }
+        rollup = loaded;
+        LOG.infof("Agregados de vendas carregados: %d dias, %d produtos", deltas.size(), slotByProduct.size());
+    }
+
+    synchronized void onOrderChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) OrderChangedEvent event) {
+        // A versão anterior do pedido sai dos agregados e a nova entra
+        Map<Long, Delta> deltas = new TreeMap<>();
+        addOrder(deltas, event.previous, -1);
+        addOrder(deltas, event.order, 1);
+        Rollup current = rollup;
+        long[] productIds = current.productIds.length == slotByProduct.size() ? current.productIds : productIds();
+        for (Map.Entry<Long, Delta> entry : deltas.entrySet()) {
+            current = current.apply(entry.getKey(), entry.getValue(), productIds);
+        }
+        rollup = current;
+    }
+
+    // Receita e pedidos de cada dia entre from e to (inclusive), com os dias sem vendas zerados
+    public List<DailyRevenueDTO> revenueByDay(LocalDate from, LocalDate to) {
+        Rollup snapshot = rollup;
+        List<DailyRevenueDTO> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayBucket bucket = snapshot.bucket(date.toEpochDay());
+            days.add(bucket == null
+                    ? new DailyRevenueDTO(date, 0, BigDecimal.ZERO.setScale(2))
+                    : new DailyRevenueDTO(date, bucket.orders, BigDecimal.valueOf(bucket.revenueCents, 2)));
+        }
+        return days;
+    }
+
+    public SalesSummaryDTO summary(LocalDate from, LocalDate to) {
+        Totals totals = sum(rollup, from, to, false);
+        BigDecimal revenue = BigDecimal.valueOf(totals.revenueCents, 2);
+        BigDecimal average = totals.orders == 0
+                ? BigDecimal.ZERO.setScale(2)
+                : revenue.divide(BigDecimal.valueOf(totals.orders), 2, RoundingMode.HALF_UP);
+        return new SalesSummaryDTO(from, to, totals.orders, revenue, average);
+    }
+
+    // Produtos vendidos entre from e to, do maior para o menor em unidades (ou receita), empatando pelo id
+    public List<ProductSalesDTO> topProducts(LocalDate from, LocalDate to, int limit, boolean byRevenue) {
+        Rollup snapshot = rollup;
+        Totals totals = sum(snapshot, from, to, true);
+        List<Integer> sold = new ArrayList<>();
+        for (int slot = 0; slot < totals.units.length; slot++) {
+            if (totals.units[slot] > 0) {
+                sold.add(slot);
+            }
+        }
+        long[] key = byRevenue ? totals.productRevenueCents : totals.units;
+        sold.sort((a, b) -> key[a] != key[b]
+                ? Long.compare(key[b], key[a])
+                : Long.compare(snapshot.productIds[a], snapshot.productIds[b]));
+
+        ProductCatalog.Snapshot catalog = productCatalog.snapshot();
+        List<ProductSalesDTO> products = new ArrayList<>(Math.min(limit, sold.size()));
+        for (int slot : sold.subList(0, Math.min(limit, sold.size()))) {
+            long productId = snapshot.productIds[slot];
+            // Produtos removidos do catálogo continuam nos agregados, sem nome
+            String name = catalog.find(productId).map(product -> product.name).orElse(null);
+            products.add(new ProductSalesDTO(productId, name, totals.units[slot],
+                    BigDecimal.valueOf(totals.productRevenueCents[slot], 2)));
+        }
+        return products;
+    }
+
+    private Totals sum(Rollup snapshot, LocalDate from, LocalDate to, boolean products) {
+        // Posições relativas ao primeiro dia da primeira página, presas aos dias cobertos ainda em long: datas
+        // distantes (ex.: -999999999-01-01) não podem estourar o int
+        long firstDay = snapshot.firstPage * Rollup.DAYS_PER_PAGE;
+        long start = Math.max(0, from.toEpochDay() - firstDay);
+        long end = Math.min(snapshot.dayCount(), to.toEpochDay() - firstDay + 1);
+        int slots = products ? snapshot.productIds.length : -1;
+        if (end <= start) {
+            return new Totals(slots);
+        }
+        RangeTask task = new RangeTask(snapshot.pages, (int) start, (int) end, slots, Math.max(1, forkThreshold));
+        return end - start > forkThreshold ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+    }
+
+    private void addOrder(Map<Long, Delta> deltas, OrderDTO order, int sign) {
+        if (order == null || order.status == OrderStatus.CANCELLED) {
+            return;
+        }
+        Delta delta = deltas.computeIfAbsent(order.orderDate.toLocalDate().toEpochDay(), day -> new Delta());
+        delta.orders += sign;
+        delta.revenueCents += sign * toCents(order.totalAmount);
+        for (OrderItemDTO item : order.items) {
+            delta.addProduct(slot(item.productId), sign * (long) item.quantity, sign * toCents(item.subtotal));
+        }
+    }
+
+    private int slot(Long productId) {
+        return slotByProduct.computeIfAbsent(productId, id -> slotByProduct.size());
+    }
+
+    private long[] productIds() {
+        long[] ids = new long[slotByProduct.size()];
+        slotByProduct.forEach((id, slot) -> ids[slot] = id);
+        return ids;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    // Soma de um intervalo; units e productRevenueCents são indexados pelo slot do produto (vazios sem produtos)
+    private static final class Totals {
+        long orders;
+        long revenueCents;
+        final long[] units;
+        final long[] productRevenueCents;
+
+        Totals(int slots) {
+            units = new long[Math.max(0, slots)];
+            productRevenueCents = new long[Math.max(0, slots)];
+        }
+
+        void add(DayBucket bucket) {
+            orders += bucket.orders;
+            revenueCents += bucket.revenueCents;
+            for (int i = 0; i < bucket.slots.length && bucket.slots[i] < units.length; i++) {
+                units[bucket.slots[i]] += bucket.units[i];
+                productRevenueCents[bucket.slots[i]] += bucket.productRevenueCents[i];
+            }
+        }
+
+        void add(Totals other) {
+            orders += other.orders;
+            revenueCents += other.revenueCents;
+            for (int i = 0; i < units.length; i++) {
+                units[i] += other.units[i];
+                productRevenueCents[i] += other.productRevenueCents[i];
+            }
+        }
+    }
+
+    // Divide o intervalo de baldes ao meio até o limite de dias e soma as metades
+    private static final class RangeTask extends RecursiveTask<Totals> {
+        private final DayBucket[][] pages;
+        private final int start;
+        private final int end;
+        private final int slots;
+        private final int threshold;
+
+        RangeTask(DayBucket[][] pages, int start, int end, int slots, int threshold) {
+            this.pages = pages;
+            this.start = start;
+            this.end = end;
+            this.slots = slots;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (end - start <= threshold) {
+                Totals totals = new Totals(slots);
+                for (int i = start; i < end; i++) {
+                    DayBucket[] page = pages[i / Rollup.DAYS_PER_PAGE];
+                    DayBucket bucket = page == null ? null : page[i % Rollup.DAYS_PER_PAGE];
+                    if (bucket != null) {
+                        totals.add(bucket);
+                    }
+                }
+                return totals;
+            }
+            int middle = (start + end) >>> 1;
+            RangeTask left = new RangeTask(pages, start, middle, slots, threshold);
+            left.fork();
+            Totals totals = new RangeTask(pages, middle, end, slots, threshold).compute();
+            totals.add(left.join());
+            return totals;
+        }
+    }
+
+    // Alteração de um dia, com os produtos acumulados por slot
+    private static final class Delta {
+        long orders;
+        long revenueCents;
+        final TreeMap<Integer, long[]> products = new TreeMap<>();
+
+        void addProduct(int slot, long units, long revenueCents) {
+            long[] totals = products.computeIfAbsent(slot, key -> new long[2]);
+            totals[0] += units;
+            totals[1] += revenueCents;
+        }
+    }
+
+    // Vendas de um dia; slots ordenados, com units e productRevenueCents em paralelo
+    private static final class DayBucket {
+        static final DayBucket EMPTY = new DayBucket(0, 0, new int[0], new long[0], new long[0]);
+
+        final long orders;
+        final long revenueCents;
+        final int[] slots;
+        final long[] units;
+        final long[] productRevenueCents;
+
+        DayBucket(long orders, long revenueCents, int[] slots, long[] units, long[] productRevenueCents) {
+            this.orders = orders;
+            this.revenueCents = revenueCents;
+            this.slots = slots;
+            this.units = units;
+            this.productRevenueCents = productRevenueCents;
+        }
+
+        // Intercala os produtos do delta com os do balde; produtos que chegam a zero saem do balde
+        DayBucket plus(Delta delta) {
+            int size = slots.length + delta.products.size();
+            int[] mergedSlots = new int[size];
+            long[] mergedUnits = new long[size];
+            long[] mergedRevenue = new long[size];
+            int count = 0;
+            int i = 0;
+            for (Map.Entry<Integer, long[]> entry : delta.products.entrySet()) {
+                int slot = entry.getKey();
+                while (i < slots.length && slots[i] < slot) {
+                    mergedSlots[count] = slots[i];
+                    mergedUnits[count] = units[i];
+                    mergedRevenue[count++] = productRevenueCents[i++];
+                }
+                long mergedUnit = entry.getValue()[0];
+                long revenue = entry.getValue()[1];
+                if (i < slots.length && slots[i] == slot) {
+                    mergedUnit += units[i];
+                    revenue += productRevenueCents[i++];
+                }
+                if (mergedUnit != 0 || revenue != 0) {
+                    mergedSlots[count] = slot;
+                    mergedUnits[count] = mergedUnit;
+                    mergedRevenue[count++] = revenue;
+                }
+            }
+            while (i < slots.length) {
+                mergedSlots[count] = slots[i];
+                mergedUnits[count] = units[i];
+                mergedRevenue[count++] = productRevenueCents[i++];
+            }
+            return new DayBucket(orders + delta.orders, revenueCents + delta.revenueCents,
+                    Arrays.copyOf(mergedSlots, count), Arrays.copyOf(mergedUnits, count), Arrays.copyOf(mergedRevenue, count));
+        }
+    }
+
+    // Baldes em páginas de DAYS_PER_PAGE dias (epoch day), a partir da página firstPage; páginas e dias sem
+    // vendas ficam null. Páginas publicadas num snapshot não são mais alteradas.
+    private static final class Rollup {
+        static final int DAYS_PER_PAGE = 64;
+        static final Rollup EMPTY = new Rollup(0, new DayBucket[0][], new long[0]);
+
+        final long firstPage;
+        final DayBucket[][] pages;
+        // Id do produto de cada slot
+        final long[] productIds;
+
+        Rollup(long firstPage, DayBucket[][] pages, long[] productIds) {
+            this.firstPage = firstPage;
+            this.pages = pages;
+            this.productIds = productIds;
+        }
+
+        static long page(long day) {
+            return Math.floorDiv(day, DAYS_PER_PAGE);
+        }
+
+        static int offset(long day) {
+            return Math.floorMod(day, DAYS_PER_PAGE);
+        }
+
+        long dayCount() {
+            return (long) pages.length * DAYS_PER_PAGE;
+        }
+
+        DayBucket bucket(long day) {
+            long index = page(day) - firstPage;
+            if (index < 0 || index >= pages.length || pages[(int) index] == null) {
+                return null;
+            }
+            return pages[(int) index][offset(day)];
+        }
+
+        // Novo snapshot com o balde do dia alterado: copia só o índice de páginas (que cresce para os lados
+        // quando preciso) e a página do dia
+        Rollup apply(long day, Delta delta, long[] productIds) {
+            long page = page(day);
+            long first = pages.length == 0 ? page : Math.min(firstPage, page);
+            long last = pages.length == 0 ? page : Math.max(firstPage + pages.length - 1, page);
+            DayBucket[][] copy = new DayBucket[(int) (last - first + 1)][];
+            if (pages.length > 0) {
+                System.arraycopy(pages, 0, copy, (int) (firstPage - first), pages.length);
+            }
+            int index = (int) (page - first);
+            DayBucket[] days = copy[index] == null ? new DayBucket[DAYS_PER_PAGE] : copy[index].clone();
+            int offset = offset(day);
+            days[offset] = (days[offset] == null ? DayBucket.EMPTY : days[offset]).plus(delta);
+            copy[index] = days;
+            return new Rollup(first, copy, productIds);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package entrega.controllers;
+
+import entrega.analytics.SalesRollup;
+import entrega.dtos.DailyRevenueDTO;
+import entrega.dtos.ProductSalesDTO;
+import entrega.dtos.SalesSummaryDTO;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// Relatórios de vendas servidos dos agregados em memória (SalesRollup), sem consultar o banco.
+// Sem datas, o intervalo é dos últimos 30 dias até hoje.
+@Path("/analytics")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Analytics", description = "Relatórios de vendas (pedidos não cancelados)")
+@RunOnVirtualThread
+public class AnalyticsController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    @Inject
+    SalesRollup salesRollup;
+
+    @ConfigProperty(name = "api.analytics.max-days", defaultValue = "3660")
+    int maxDays;
+
+    @ConfigProperty(name = "api.analytics.max-top-products", defaultValue = "100")
+    int maxTopProducts;
+
+    @GET
+    @Path("/revenue")
+    @Operation(summary = "Receita por dia", description = "Quantidade de pedidos e receita de cada dia do intervalo, incluindo os dias sem vendas")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Receita diária retornada com sucesso",
+                     content = @Content(schema = @Schema(implementation = DailyRevenueDTO.class))),
+        @APIResponse(responseCode = "400", description = "Intervalo de datas inválido")
+    })
+    public Response revenue(@Parameter(description = "Data inicial (yyyy-MM-dd)") @QueryParam("from") LocalDate from,
+                            @Parameter(description = "Data final (yyyy-MM-dd), inclusive") @QueryParam("to") LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        checkRange(start, end);
+        return Response.ok(salesRollup.revenueByDay(start, end)).build();
+    }
+
+    @GET
+    @Path("/top-products")
+    @Operation(summary = "Produtos mais vendidos", description = "Produtos mais vendidos no intervalo, ordenados por unidades ou por receita")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Produtos retornados com sucesso",
+                     content = @Content(schema = @Schema(implementation = ProductSalesDTO.class))),
+        @APIResponse(responseCode = "400", description = "Intervalo de datas, limite ou ordenação inválidos")
+    })
+    public Response topProducts(@Parameter(description = "Data inicial (yyyy-MM-dd)") @QueryParam("from") LocalDate from,
+                                @Parameter(description = "Data final (yyyy-MM-dd), inclusive") @QueryParam("to") LocalDate to,
+                                @Parameter(description = "Quantidade de produtos") @QueryParam("limit") @DefaultValue("10") int limit,
+                                @Parameter(description = "Ordenação: units ou revenue") @QueryParam("by") @DefaultValue("units") String by) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        checkRange(start, end);
+        if (limit < 1) {
+            throw new IllegalArgumentException("'limit' deve ser maior que zero");
+        }
+        if (!by.equals("units") && !by.equals("revenue")) {
+            throw new IllegalArgumentException("'by' deve ser units ou revenue");
+        }
+        return Response.ok(salesRollup.topProducts(start, end, Math.min(limit, maxTopProducts), by.equals("revenue"))).build();
+    }
+
+    @GET
+    @Path("/average-order-value")
+    @Operation(summary = "Ticket médio", description = "Quantidade de pedidos, receita e valor médio por pedido no intervalo")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Resumo retornado com sucesso",
+                     content = @Content(schema = @Schema(implementation = SalesSummaryDTO.class))),
+        @APIResponse(responseCode = "400", description = "Intervalo de datas inválido ou maior que o limite de dias")
+    })
+    public Response averageOrderValue(@Parameter(description = "Data inicial (yyyy-MM-dd)") @QueryParam("from") LocalDate from,
+                                      @Parameter(description = "Data final (yyyy-MM-dd), inclusive") @QueryParam("to") LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        checkRange(start, end);
+        return Response.ok(salesRollup.summary(start, end)).build();
+    }
+
+    // O limite de dias vale para todos os relatórios: os somatórios percorrem um balde por dia do intervalo
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' deve ser anterior ou igual a 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new IllegalArgumentException("O intervalo deve ter no máximo " + maxDays + " dias");
+        }
+    }
+}
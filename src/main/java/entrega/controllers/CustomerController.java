@@ -2,12 +2,16 @@ package entrega.controllers;
 //Controllers responsavel pelos EndPoints REST (Resource)
 import entrega.dtos.CustomerDTO;
 import entrega.models.Customer;
+import entrega.repositories.KeysetPage;
 import entrega.services.CustomerService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -26,24 +30,34 @@ import java.util.Optional;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Customers", description = "Operações para gerenciamento de clientes")
+@RunOnVirtualThread
 public class CustomerController {
 
     @Inject
     CustomerService customerService;
 
+    @Inject
+    Pagination pagination;
+
     @Context
     UriInfo uriInfo;
 
+    @Context
+    HttpHeaders headers;
+
+    @Context
+    Request request;
+
     @GET
-    @Operation(summary = "Listar todos os clientes", description = "Retorna uma lista com todos os clientes cadastrados")
+    @Operation(summary = "Listar clientes (paginado)", description = "Retorna uma página de clientes cadastrados, ordenada por ID")
     @APIResponse(responseCode = "200", description = "Lista de clientes retornada com sucesso",
                  content = @Content(schema = @Schema(implementation = CustomerDTO.class)))
-    public Response list() {
-        List<Customer> customers = customerService.listAll();
-        List<CustomerDTO> customerDTOs = customers.stream()
-                .map(c -> new CustomerDTO(c.id, c.name, c.email))
-                .toList();
-        return Response.ok(customerDTOs).build();
+    public Response list(@Parameter(description = "Cursor retornado no header X-Next-Cursor") @QueryParam("after") String after,
+                         @Parameter(description = "Quantidade máxima de itens por página") @QueryParam("limit") Integer limit) {
+        int pageSize = pagination.limit(limit);
+        KeysetPage<CustomerDTO> page = customerService.listPage(pagination.decodeCursor(after), pageSize)
+                .map(c -> new CustomerDTO(c.id, c.name, c.email, c.version));
+        return pagination.ok(page, uriInfo, pageSize);
     }
 
     @GET
@@ -52,13 +66,18 @@ public class CustomerController {
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Cliente encontrado",
                      content = @Content(schema = @Schema(implementation = CustomerDTO.class))),
+        @APIResponse(responseCode = "304", description = "Cliente não modificado desde a ETag informada em If-None-Match"),
         @APIResponse(responseCode = "404", description = "Cliente não encontrado")
     })
     public Response findById(@Parameter(description = "ID do cliente") @PathParam("id") Long id) {
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_NONE_MATCH, () -> customerService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
         Optional<Customer> customer = customerService.findById(id);
         if (customer.isPresent()) {
-            CustomerDTO dto = new CustomerDTO(customer.get().id, customer.get().name, customer.get().email);
-            return Response.ok(dto).build();
+            CustomerDTO dto = new CustomerDTO(customer.get().id, customer.get().name, customer.get().email, customer.get().version);
+            return Response.ok(dto).tag(ETags.of(dto.version)).build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
@@ -68,7 +87,8 @@ public class CustomerController {
     @APIResponses({
         @APIResponse(responseCode = "201", description = "Cliente criado com sucesso",
                      content = @Content(schema = @Schema(implementation = Customer.class))),
-        @APIResponse(responseCode = "400", description = "Dados inválidos")
+        @APIResponse(responseCode = "400", description = "Dados inválidos"),
+        @APIResponse(responseCode = "409", description = "E-mail já cadastrado")
     })
     public Response create(@Valid Customer customer) {
         Customer created = customerService.create(customer);
@@ -82,12 +102,19 @@ public class CustomerController {
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Cliente atualizado com sucesso"),
         @APIResponse(responseCode = "404", description = "Cliente não encontrado"),
-        @APIResponse(responseCode = "400", description = "Dados inválidos")
+        @APIResponse(responseCode = "400", description = "Dados inválidos"),
+        @APIResponse(responseCode = "409", description = "E-mail já cadastrado por outro cliente"),
+        @APIResponse(responseCode = "412", description = "ETag informada em If-Match não é a atual")
     })
     public Response update(@Parameter(description = "ID do cliente") @PathParam("id") Long id, @Valid Customer customer) {
-        Optional<Customer> updated = customerService.update(id, customer);
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_MATCH, () -> customerService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
+        Optional<Customer> updated = customerService.update(id, customer, precondition.version());
         if (updated.isPresent()) {
-            return Response.ok(updated.get()).build();
+            Customer c = updated.get();
+            return Response.ok(new CustomerDTO(c.id, c.name, c.email, c.version)).tag(ETags.of(c.version)).build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
@@ -97,29 +124,44 @@ public class CustomerController {
     @Operation(summary = "Deletar cliente", description = "Remove um cliente do sistema")
     @APIResponses({
         @APIResponse(responseCode = "204", description = "Cliente removido com sucesso"),
-        @APIResponse(responseCode = "404", description = "Cliente não encontrado")
+        @APIResponse(responseCode = "404", description = "Cliente não encontrado"),
+        @APIResponse(responseCode = "412", description = "ETag informada em If-Match não é a atual")
     })
     public Response delete(@Parameter(description = "ID do cliente") @PathParam("id") Long id) {
-        boolean deleted = customerService.delete(id);
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_MATCH, () -> customerService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
+        boolean deleted = customerService.delete(id, precondition.version());
         if (deleted) {
             return Response.noContent().build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
 
+    @HEAD
+    @Path("/email/{email}")
+    @Operation(summary = "Verificar e-mail", description = "Informa se já existe cliente com o e-mail (sem diferenciar maiúsculas), sem consultar o banco")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "E-mail já cadastrado"),
+        @APIResponse(responseCode = "404", description = "E-mail não cadastrado")
+    })
+    public Response emailExists(@Parameter(description = "E-mail do cliente") @PathParam("email") String email) {
+        return customerService.emailExists(email)
+                ? Response.ok().build()
+                : Response.status(Response.Status.NOT_FOUND).build();
+    }
+
     @GET
     @Path("/search")
-    @Operation(summary = "Buscar clientes por nome", description = "Busca clientes que contenham o nome especificado")
+    @Operation(summary = "Buscar clientes por nome", description = "Busca clientes que contenham o nome especificado, sem diferenciar maiúsculas nem acentos")
     @APIResponse(responseCode = "200", description = "Clientes encontrados",
                  content = @Content(schema = @Schema(implementation = CustomerDTO.class)))
     public Response findByName(@Parameter(description = "Nome para busca") @QueryParam("name") String name) {
         if (name == null || name.trim().isEmpty()) {
             return Response.status(Response.Status.BAD_REQUEST).entity("Parâmetro 'name' é obrigatório").build();
         }
-        List<Customer> customers = customerService.findByNameContaining(name);
-        List<CustomerDTO> customerDTOs = customers.stream()
-                .map(c -> new CustomerDTO(c.id, c.name, c.email))
-                .toList();
+        List<CustomerDTO> customerDTOs = customerService.findByNameContaining(name);
         return Response.ok(customerDTOs).build();
     }
 }
@@ -0,0 +1,60 @@
+package entrega.controllers;
+
+import entrega.RunEpoch;
+import entrega.repositories.EntityVersion;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// ETags fortes derivadas das versões (@Version) das entidades, sem serializar a representação.
+// O prefixo (RunEpoch) muda a cada inicialização: o banco em memória é recriado e ids/versões se repetem.
+final class ETags {
+
+    // Resultado da avaliação de If-Match/If-None-Match: resposta pronta (304/404/412) ou a versão que a
+    // requisição viu, repassada ao serviço para a checagem dentro da transação
+    record Precondition(Response response, Long version) {
+
+        static final Precondition NONE = new Precondition(null, null);
+
+        boolean failed() {
+            return response != null;
+        }
+    }
+
+    private ETags() {
+    }
+
+    static EntityTag of(EntityVersion version) {
+        return new EntityTag(RunEpoch.VALUE + "-" + version.version() + "-" + version.related());
+    }
+
+    static EntityTag of(Long version) {
+        return of(EntityVersion.of(version));
+    }
+
+    // Coleções: a marca d'água muda sempre que algum elemento muda
+    static EntityTag ofWatermark(long watermark) {
+        return new EntityTag(RunEpoch.VALUE + "-w" + watermark);
+    }
+
+    // Sem o header não há consulta; com ele só a versão é lida, antes de carregar a entidade
+    static Precondition check(HttpHeaders headers, Request request, String header, Supplier<Optional<EntityVersion>> version) {
+        if (headers.getHeaderString(header) == null) {
+            return Precondition.NONE;
+        }
+        Optional<EntityVersion> current = version.get();
+        if (current.isEmpty()) {
+            return new Precondition(Response.status(Response.Status.NOT_FOUND).build(), null);
+        }
+        EntityTag tag = of(current.get());
+        Response.ResponseBuilder failed = request.evaluatePreconditions(tag);
+        if (failed != null) {
+            return new Precondition(failed.tag(tag).build(), null);
+        }
+        return new Precondition(null, current.get().version());
+    }
+}
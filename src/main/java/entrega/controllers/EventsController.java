@@ -0,0 +1,155 @@
+package entrega.controllers;
+
+import entrega.RunEpoch;
+import entrega.dtos.OrderChangeDTO;
+import entrega.dtos.ProductChangeDTO;
+import entrega.events.ChangeFeed;
+import entrega.events.ChangeFeeds;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Alterações de pedidos e produtos em Server-Sent Events, lidas do buffer circular de cada feed. Cada
+// assinante tem sua virtual thread e só avança quando o envio anterior foi escrito, então um cliente lento
+// atrasa apenas a si mesmo. Com Last-Event-ID a conexão retoma do evento seguinte; se ele já saiu do buffer
+// (ou é de outra execução), chega um evento "reset" e o cliente deve recarregar a lista antes de seguir.
+@Path("/events")
+@Tag(name = "Events", description = "Feeds de alterações em Server-Sent Events")
+public class EventsController {
+
+    private static final Logger LOG = Logger.getLogger(EventsController.class);
+
+    // Eventos lidos do buffer por vez
+    private static final int READ_BATCH = 64;
+
+    @Inject
+    ChangeFeeds changeFeeds;
+
+    @ConfigProperty(name = "api.events.heartbeat", defaultValue = "15s")
+    Duration heartbeat;
+
+    @ConfigProperty(name = "api.events.send-timeout", defaultValue = "10s")
+    Duration sendTimeout;
+
+    @Context
+    Sse sse;
+
+    @GET
+    @Path("/orders")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(summary = "Alterações de pedidos (SSE)", description = "Um evento por pedido criado, alterado ou removido, "
+            + "com id, tipo, status, total e versão; envie Last-Event-ID para retomar após uma reconexão")
+    @APIResponse(responseCode = "200", description = "Fluxo de eventos",
+                 content = @Content(mediaType = MediaType.SERVER_SENT_EVENTS, schema = @Schema(implementation = OrderChangeDTO.class)))
+    public void orders(@Parameter(description = "Último evento recebido") @HeaderParam("Last-Event-ID") String lastEventId,
+                       @Parameter(description = "Alternativa ao header Last-Event-ID") @QueryParam("lastEventId") String lastEventIdParam,
+                       @Context SseEventSink sink) {
+        subscribe(changeFeeds.orders(), lastEventId != null ? lastEventId : lastEventIdParam, sink);
+    }
+
+    @GET
+    @Path("/products")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(summary = "Alterações de produtos (SSE)", description = "Um evento por produto criado, alterado ou removido, "
+            + "com id, tipo, preço e versão; envie Last-Event-ID para retomar após uma reconexão")
+    @APIResponse(responseCode = "200", description = "Fluxo de eventos",
+                 content = @Content(mediaType = MediaType.SERVER_SENT_EVENTS, schema = @Schema(implementation = ProductChangeDTO.class)))
+    public void products(@Parameter(description = "Último evento recebido") @HeaderParam("Last-Event-ID") String lastEventId,
+                         @Parameter(description = "Alternativa ao header Last-Event-ID") @QueryParam("lastEventId") String lastEventIdParam,
+                         @Context SseEventSink sink) {
+        subscribe(changeFeeds.products(), lastEventId != null ? lastEventId : lastEventIdParam, sink);
+    }
+
+    private void subscribe(ChangeFeed feed, String lastEventId, SseEventSink sink) {
+        long cursor = resumeFrom(feed, lastEventId);
+        Thread.ofVirtual().name("sse-subscriber").start(() -> stream(feed, cursor, sink));
+    }
+
+    private void stream(ChangeFeed feed, long cursor, SseEventSink sink) {
+        feed.subscribers().incrementAndGet();
+        try {
+            if (cursor < 0) {
+                cursor = reset(feed, sink);
+            }
+            while (!sink.isClosed() && !feed.isClosed()) {
+                List<ChangeFeed.Entry> entries = feed.read(cursor, READ_BATCH, heartbeat);
+                if (entries == null) {
+                    cursor = reset(feed, sink);
+                } else if (entries.isEmpty()) {
+                    send(sink, sse.newEventBuilder().comment("keep-alive").build());
+                } else {
+                    for (ChangeFeed.Entry entry : entries) {
+                        send(sink, sse.newEventBuilder()
+                                .id(RunEpoch.VALUE + "-" + entry.sequence())
+                                .mediaType(MediaType.TEXT_PLAIN_TYPE)
+                                .data(entry.data())
+                                .build());
+                        cursor = entry.sequence();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Cliente desconectado ou lento demais para receber dentro de send-timeout
+            LOG.debugf("Assinante de eventos encerrado: %s", e.toString());
+        } finally {
+            feed.subscribers().decrementAndGet();
+            if (!sink.isClosed()) {
+                sink.close();
+            }
+        }
+    }
+
+    // Sem Last-Event-ID a assinatura começa no próximo evento; -1 quando o id não pode ser retomado
+    private static long resumeFrom(ChangeFeed feed, String lastEventId) {
+        long last = feed.lastSequence();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return last;
+        }
+        String prefix = RunEpoch.VALUE + "-";
+        if (!lastEventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            long sequence = Long.parseLong(lastEventId.substring(prefix.length()));
+            return sequence >= 0 && sequence <= last ? sequence : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private long reset(ChangeFeed feed, SseEventSink sink) throws Exception {
+        long cursor = feed.lastSequence();
+        send(sink, sse.newEventBuilder()
+                .id(RunEpoch.VALUE + "-" + cursor)
+                .name("reset")
+                .data("eventos perdidos; recarregue a lista antes de continuar")
+                .build());
+        return cursor;
+    }
+
+    private void send(SseEventSink sink, OutboundSseEvent event) throws Exception {
+        sink.send(event).toCompletableFuture().get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -1,15 +1,25 @@
 package entrega.controllers;
 
+import entrega.dtos.ItemQuantityDTO;
+import entrega.dtos.OrderBatchResultDTO;
 import entrega.dtos.OrderDTO;
-import entrega.dtos.ProductDTO;
+import entrega.dtos.OrderStatsDTO;
 import entrega.models.Order;
 import entrega.models.enums.OrderStatus;
+import entrega.repositories.EntityVersion;
+import entrega.repositories.KeysetPage;
 import entrega.services.OrderService;
+import entrega.services.OrderStatistics;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -27,24 +37,57 @@ import java.util.Optional;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Orders", description = "Operações para gerenciamento de pedidos")
+@RunOnVirtualThread
 public class OrderController {
 
     @Inject
     OrderService orderService;
 
+    @Inject
+    Pagination pagination;
+
+    @Inject
+    NdjsonWriter ndjsonWriter;
+
+    @Inject
+    OrderStatistics orderStatistics;
+
     @Context
     UriInfo uriInfo;
 
+    @Context
+    HttpHeaders headers;
+
+    @Context
+    Request request;
+
     @GET
-    @Operation(summary = "Listar todos os pedidos", description = "Retorna uma lista com todos os pedidos cadastrados")
+    @Operation(summary = "Listar pedidos (paginado)", description = "Retorna uma página de pedidos cadastrados, ordenada por ID")
     @APIResponse(responseCode = "200", description = "Lista de pedidos retornada com sucesso",
                  content = @Content(schema = @Schema(implementation = OrderDTO.class)))
-    public Response list() {
-        List<Order> orders = orderService.listAll();
-        List<OrderDTO> orderDTOs = orders.stream()
-                .map(this::convertToDTO)
-                .toList();
-        return Response.ok(orderDTOs).build();
+    public Response list(@Parameter(description = "Cursor retornado no header X-Next-Cursor") @QueryParam("after") String after,
+                         @Parameter(description = "Quantidade máxima de itens por página") @QueryParam("limit") Integer limit) {
+        int pageSize = pagination.limit(limit);
+        KeysetPage<OrderDTO> page = orderService.listPage(pagination.decodeCursor(after), pageSize);
+        return pagination.ok(page, uriInfo, pageSize);
+    }
+
+    @GET
+    @Produces(NdjsonWriter.MEDIA_TYPE)
+    @Operation(summary = "Exportar pedidos (NDJSON)", description = "Transmite todos os pedidos, um objeto JSON por linha, lidos do banco com cursor")
+    @APIResponse(responseCode = "200", description = "Pedidos transmitidos com sucesso")
+    public Response stream() {
+        return Response.ok(ndjsonWriter.<OrderDTO>stream(sink -> orderService.streamAll(null, sink))).build();
+    }
+
+    @GET
+    @Path("/stats")
+    @Operation(summary = "Estatísticas de pedidos", description = "Quantidade de pedidos por status, receita total (pedidos não cancelados) "
+            + "e pedidos do dia, servidas de contadores em memória atualizados a cada alteração, sem consultar o banco")
+    @APIResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso",
+                 content = @Content(schema = @Schema(implementation = OrderStatsDTO.class)))
+    public Response stats() {
+        return Response.ok(orderStatistics.snapshot()).build();
     }
 
     @GET
@@ -53,13 +96,23 @@ public class OrderController {
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Pedido encontrado",
                      content = @Content(schema = @Schema(implementation = OrderDTO.class))),
+        @APIResponse(responseCode = "304", description = "Pedido não modificado desde a ETag informada em If-None-Match"),
         @APIResponse(responseCode = "404", description = "Pedido não encontrado")
     })
     public Response findById(@Parameter(description = "ID do pedido") @PathParam("id") Long id) {
-        Optional<Order> order = orderService.findById(id);
+        // A ETag depende também do cliente e dos produtos, então é sempre lida antes (uma consulta agregada)
+        Optional<EntityVersion> version = orderService.findVersion(id);
+        if (version.isEmpty()) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        EntityTag tag = ETags.of(version.get());
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.tag(tag).build();
+        }
+        Optional<OrderDTO> order = orderService.findById(id);
         if (order.isPresent()) {
-            OrderDTO dto = convertToDTO(order.get());
-            return Response.ok(dto).build();
+            return Response.ok(order.get()).tag(tag).build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
@@ -68,27 +121,47 @@ public class OrderController {
     @Operation(summary = "Criar novo pedido", description = "Cria um novo pedido no sistema")
     @APIResponses({
         @APIResponse(responseCode = "201", description = "Pedido criado com sucesso",
-                     content = @Content(schema = @Schema(implementation = Order.class))),
+                     content = @Content(schema = @Schema(implementation = OrderDTO.class))),
         @APIResponse(responseCode = "400", description = "Dados inválidos")
     })
     public Response create(@Valid Order order) {
-        Order created = orderService.create(order);
+        OrderDTO created = orderService.create(order);
         return Response.created(uriInfo.getAbsolutePathBuilder().path(created.id.toString()).build())
                 .entity(created).build();
     }
 
+    @POST
+    @Path("/batch")
+    @Operation(summary = "Criar pedidos em lote", description = "Cria vários pedidos em uma única requisição; cada pedido é validado "
+            + "individualmente e o resultado informa, na ordem enviada, o ID criado ou os erros encontrados")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Lote processado",
+                     content = @Content(schema = @Schema(implementation = OrderBatchResultDTO.class))),
+        @APIResponse(responseCode = "400", description = "Lote vazio ou maior que o permitido")
+    })
+    public Response createBatch(List<Order> orders) {
+        return Response.ok(orderService.createBatch(orders)).build();
+    }
+
     @PUT
     @Path("/{id}")
     @Operation(summary = "Atualizar pedido", description = "Atualiza os dados de um pedido existente")
     @APIResponses({
-        @APIResponse(responseCode = "200", description = "Pedido atualizado com sucesso"),
+        @APIResponse(responseCode = "200", description = "Pedido atualizado com sucesso",
+                     content = @Content(schema = @Schema(implementation = OrderDTO.class))),
         @APIResponse(responseCode = "404", description = "Pedido não encontrado"),
-        @APIResponse(responseCode = "400", description = "Dados inválidos")
+        @APIResponse(responseCode = "400", description = "Dados inválidos"),
+        @APIResponse(responseCode = "412", description = "ETag informada em If-Match não é a atual")
     })
     public Response update(@Parameter(description = "ID do pedido") @PathParam("id") Long id, @Valid Order order) {
-        Optional<Order> updated = orderService.update(id, order);
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_MATCH, () -> orderService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
+        Optional<OrderDTO> updated = orderService.update(id, order, precondition.version());
         if (updated.isPresent()) {
-            return Response.ok(updated.get()).build();
+            EntityTag tag = orderService.findVersion(id).map(ETags::of).orElse(null);
+            return Response.ok(updated.get()).tag(tag).build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
@@ -98,10 +171,15 @@ public class OrderController {
     @Operation(summary = "Deletar pedido", description = "Remove um pedido do sistema")
     @APIResponses({
         @APIResponse(responseCode = "204", description = "Pedido removido com sucesso"),
-        @APIResponse(responseCode = "404", description = "Pedido não encontrado")
+        @APIResponse(responseCode = "404", description = "Pedido não encontrado"),
+        @APIResponse(responseCode = "412", description = "ETag informada em If-Match não é a atual")
     })
     public Response delete(@Parameter(description = "ID do pedido") @PathParam("id") Long id) {
-        boolean deleted = orderService.delete(id);
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_MATCH, () -> orderService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
+        boolean deleted = orderService.delete(id, precondition.version());
         if (deleted) {
             return Response.noContent().build();
         }
@@ -114,10 +192,7 @@ public class OrderController {
     @APIResponse(responseCode = "200", description = "Pedidos encontrados",
                  content = @Content(schema = @Schema(implementation = OrderDTO.class)))
     public Response findByCustomerId(@Parameter(description = "ID do cliente") @PathParam("customerId") Long customerId) {
-        List<Order> orders = orderService.findByCustomerId(customerId);
-        List<OrderDTO> orderDTOs = orders.stream()
-                .map(this::convertToDTO)
-                .toList();
+        List<OrderDTO> orderDTOs = orderService.findByCustomerId(customerId);
         return Response.ok(orderDTOs).build();
     }
 
@@ -127,45 +202,58 @@ public class OrderController {
     @APIResponse(responseCode = "200", description = "Pedidos encontrados",
                  content = @Content(schema = @Schema(implementation = OrderDTO.class)))
     public Response findByStatus(@Parameter(description = "Status do pedido") @PathParam("status") OrderStatus status) {
-        List<Order> orders = orderService.findByStatus(status);
-        List<OrderDTO> orderDTOs = orders.stream()
-                .map(this::convertToDTO)
-                .toList();
+        List<OrderDTO> orderDTOs = orderService.findByStatus(status);
         return Response.ok(orderDTOs).build();
     }
 
+    @GET
+    @Path("/status/{status}")
+    @Produces(NdjsonWriter.MEDIA_TYPE)
+    @Operation(summary = "Exportar pedidos por status (NDJSON)", description = "Transmite os pedidos com o status informado, um objeto JSON por linha")
+    @APIResponse(responseCode = "200", description = "Pedidos transmitidos com sucesso")
+    public Response streamByStatus(@Parameter(description = "Status do pedido") @PathParam("status") OrderStatus status) {
+        return Response.ok(ndjsonWriter.<OrderDTO>stream(sink -> orderService.streamAll(status, sink))).build();
+    }
+
     @POST
     @Path("/{orderId}/products/{productId}")
-    @Operation(summary = "Adicionar produto ao pedido", description = "Adiciona um produto a um pedido existente")
+    @Operation(summary = "Adicionar produto ao pedido", description = "Adiciona um produto a um pedido existente; se o produto já estiver no pedido, soma a quantidade")
     @APIResponses({
-        @APIResponse(responseCode = "200", description = "Produto adicionado com sucesso"),
+        @APIResponse(responseCode = "200", description = "Produto adicionado com sucesso",
+                     content = @Content(schema = @Schema(implementation = OrderDTO.class))),
+        @APIResponse(responseCode = "400", description = "Quantidade inválida"),
         @APIResponse(responseCode = "404", description = "Pedido ou produto não encontrado")
     })
     public Response addProductToOrder(
             @Parameter(description = "ID do pedido") @PathParam("orderId") Long orderId,
-            @Parameter(description = "ID do produto") @PathParam("productId") Long productId) {
+            @Parameter(description = "ID do produto") @PathParam("productId") Long productId,
+            @Parameter(description = "Quantidade a adicionar") @QueryParam("quantity") @DefaultValue("1") int quantity) {
         
-        Optional<Order> order = orderService.addProductToOrder(orderId, productId);
+        Optional<OrderDTO> order = orderService.addProductToOrder(orderId, productId, quantity);
         if (order.isPresent()) {
             return Response.ok(order.get()).build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
 
-    private OrderDTO convertToDTO(Order order) {
-        List<ProductDTO> productDTOs = order.products != null ? 
-                order.products.stream()
-                        .map(p -> new ProductDTO(p.id, p.name, p.price, p.description))
-                        .toList() : List.of();
-
-        return new OrderDTO(
-                order.id,
-                order.customer.id,
-                order.customer.name,
-                order.status,
-                order.orderDate,
-                order.totalAmount,
-                productDTOs
-        );
+    @PUT
+    @Path("/{orderId}/items/{itemId}")
+    @Operation(summary = "Alterar quantidade de um item", description = "Altera a quantidade de um item do pedido; quantidade zero remove o item")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Quantidade alterada com sucesso",
+                     content = @Content(schema = @Schema(implementation = OrderDTO.class))),
+        @APIResponse(responseCode = "400", description = "Quantidade inválida ou corpo ausente"),
+        @APIResponse(responseCode = "404", description = "Pedido ou item não encontrado")
+    })
+    public Response updateItemQuantity(
+            @Parameter(description = "ID do pedido") @PathParam("orderId") Long orderId,
+            @Parameter(description = "ID do item") @PathParam("itemId") Long itemId,
+            @NotNull(message = "Corpo da requisição é obrigatório") @Valid ItemQuantityDTO body) {
+
+        Optional<OrderDTO> order = orderService.updateItemQuantity(orderId, itemId, body.quantity);
+        if (order.isPresent()) {
+            return Response.ok(order.get()).build();
+        }
+        return Response.status(Response.Status.NOT_FOUND).build();
     }
 }
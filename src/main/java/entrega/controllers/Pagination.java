@@ -0,0 +1,67 @@
+package entrega.controllers;
+
+import entrega.repositories.KeysetPage;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Parâmetros de paginação por cursor (?after=<cursor>&limit=N) compartilhados pelos controllers
+@ApplicationScoped
+public class Pagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @ConfigProperty(name = "api.pagination.default-limit", defaultValue = "50")
+    int defaultLimit;
+
+    @ConfigProperty(name = "api.pagination.max-limit", defaultValue = "200")
+    int maxLimit;
+
+    public int limit(Integer requested) {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("'limit' deve ser maior que zero");
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    public Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.valueOf(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor 'after' inválido");
+        }
+    }
+
+    public String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Response ok(KeysetPage<?> page, UriInfo uriInfo, int limit) {
+        return ok(page.items, page.nextAfter, uriInfo, limit).build();
+    }
+
+    public Response.ResponseBuilder ok(Object body, Long nextAfter, UriInfo uriInfo, int limit) {
+        Response.ResponseBuilder response = Response.ok(body);
+        if (nextAfter != null) {
+            String cursor = encodeCursor(nextAfter);
+            response.header(NEXT_CURSOR_HEADER, cursor)
+                    .link(uriInfo.getRequestUriBuilder()
+                            .replaceQueryParam("after", cursor)
+                            .replaceQueryParam("limit", limit)
+                            .build(), "next");
+        }
+        return response;
+    }
+}
@@ -2,12 +2,19 @@ package entrega.controllers;
 
 import entrega.dtos.ProductDTO;
 import entrega.models.Product;
+import entrega.repositories.EntityVersion;
+import entrega.repositories.KeysetPage;
+import entrega.services.ProductCatalog;
 import entrega.services.ProductService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -27,24 +34,54 @@ import java.util.Optional;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Products", description = "Operações para gerenciamento de produtos")
+@RunOnVirtualThread
 public class ProductController {
 
+    static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+
+    // Importação em POST /products/import: ProductImportRoute
+    static final String CSV_MEDIA_TYPE = "text/csv";
+
     @Inject
     ProductService productService;
 
+    @Inject
+    Pagination pagination;
+
+    @Inject
+    NdjsonWriter ndjsonWriter;
+
+    @Inject
+    ProductCatalog productCatalog;
+
     @Context
     UriInfo uriInfo;
 
+    @Context
+    HttpHeaders headers;
+
+    @Context
+    Request request;
+
     @GET
-    @Operation(summary = "Listar todos os produtos", description = "Retorna uma lista com todos os produtos cadastrados")
+    @Operation(summary = "Listar produtos (paginado)", description = "Retorna uma página de produtos cadastrados, ordenada por ID")
     @APIResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso",
                  content = @Content(schema = @Schema(implementation = ProductDTO.class)))
-    public Response list() {
-        List<Product> products = productService.listAll();
-        List<ProductDTO> productDTOs = products.stream()
-                .map(p -> new ProductDTO(p.id, p.name, p.price, p.description))
-                .toList();
-        return Response.ok(productDTOs).build();
+    public Response list(@Parameter(description = "Cursor retornado no header X-Next-Cursor") @QueryParam("after") String after,
+                         @Parameter(description = "Quantidade máxima de itens por página") @QueryParam("limit") Integer limit) {
+        int pageSize = pagination.limit(limit);
+        ProductCatalog.Snapshot catalog = productCatalog.snapshot();
+        // A versão do snapshot serve de marca d'água: a página só é montada se o cliente não a tiver
+        EntityTag tag = ETags.ofWatermark(catalog.version);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.tag(tag).header(CATALOG_VERSION_HEADER, catalog.version).build();
+        }
+        KeysetPage<byte[]> page = catalog.pageJson(pagination.decodeCursor(after), pageSize);
+        return pagination.ok(ProductCatalog.toJsonArray(page.items), page.nextAfter, uriInfo, pageSize)
+                .tag(tag)
+                .header(CATALOG_VERSION_HEADER, catalog.version)
+                .build();
     }
 
     @GET
@@ -53,13 +90,23 @@ public class ProductController {
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Produto encontrado",
                      content = @Content(schema = @Schema(implementation = ProductDTO.class))),
+        @APIResponse(responseCode = "304", description = "Produto não modificado desde a ETag informada em If-None-Match"),
         @APIResponse(responseCode = "404", description = "Produto não encontrado")
     })
     public Response findById(@Parameter(description = "ID do produto") @PathParam("id") Long id) {
-        Optional<Product> product = productService.findById(id);
+        ProductCatalog.Snapshot catalog = productCatalog.snapshot();
+        // Versão lida do catálogo em memória: nem o 304 nem o 200 consultam o banco
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_NONE_MATCH,
+                () -> catalog.find(id).map(p -> EntityVersion.of(p.version)));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
+        Optional<byte[]> product = catalog.findJson(id);
         if (product.isPresent()) {
-            ProductDTO dto = new ProductDTO(product.get().id, product.get().name, product.get().price, product.get().description);
-            return Response.ok(dto).build();
+            return Response.ok(product.get())
+                    .tag(ETags.of(catalog.find(id).get().version))
+                    .header(CATALOG_VERSION_HEADER, catalog.version)
+                    .build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
@@ -83,12 +130,17 @@ public class ProductController {
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Produto atualizado com sucesso"),
         @APIResponse(responseCode = "404", description = "Produto não encontrado"),
-        @APIResponse(responseCode = "400", description = "Dados inválidos")
+        @APIResponse(responseCode = "400", description = "Dados inválidos"),
+        @APIResponse(responseCode = "412", description = "ETag informada em If-Match não é a atual")
     })
     public Response update(@Parameter(description = "ID do produto") @PathParam("id") Long id, @Valid Product product) {
-        Optional<Product> updated = productService.update(id, product);
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_MATCH, () -> productService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
+        Optional<Product> updated = productService.update(id, product, precondition.version());
         if (updated.isPresent()) {
-            return Response.ok(updated.get()).build();
+            return Response.ok(updated.get()).tag(ETags.of(updated.get().version)).build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
@@ -98,10 +150,15 @@ public class ProductController {
     @Operation(summary = "Deletar produto", description = "Remove um produto do sistema")
     @APIResponses({
         @APIResponse(responseCode = "204", description = "Produto removido com sucesso"),
-        @APIResponse(responseCode = "404", description = "Produto não encontrado")
+        @APIResponse(responseCode = "404", description = "Produto não encontrado"),
+        @APIResponse(responseCode = "412", description = "ETag informada em If-Match não é a atual")
     })
     public Response delete(@Parameter(description = "ID do produto") @PathParam("id") Long id) {
-        boolean deleted = productService.delete(id);
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_MATCH, () -> productService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
+        boolean deleted = productService.delete(id, precondition.version());
         if (deleted) {
             return Response.noContent().build();
         }
@@ -110,43 +167,73 @@ public class ProductController {
 
     @GET
     @Path("/search")
-    @Operation(summary = "Buscar produtos por nome", description = "Busca produtos que contenham o nome especificado")
+    @Operation(summary = "Buscar produtos por nome", description = "Busca produtos que contenham o nome especificado, sem diferenciar maiúsculas nem acentos")
     @APIResponse(responseCode = "200", description = "Produtos encontrados",
                  content = @Content(schema = @Schema(implementation = ProductDTO.class)))
     public Response findByName(@Parameter(description = "Nome para busca") @QueryParam("name") String name) {
         if (name == null || name.trim().isEmpty()) {
             return Response.status(Response.Status.BAD_REQUEST).entity("Parâmetro 'name' é obrigatório").build();
         }
-        List<Product> products = productService.findByNameContaining(name);
-        List<ProductDTO> productDTOs = products.stream()
-                .map(p -> new ProductDTO(p.id, p.name, p.price, p.description))
-                .toList();
+        List<ProductDTO> productDTOs = productService.findByNameContaining(name);
         return Response.ok(productDTOs).build();
     }
 
     @GET
     @Path("/price-range")
-    @Operation(summary = "Buscar produtos por faixa de preço", description = "Busca produtos dentro de uma faixa de preço especificada")
+    @Operation(summary = "Buscar produtos por faixa de preço", description = "Busca produtos dentro de uma faixa de preço especificada, ordenados por preço")
     @APIResponse(responseCode = "200", description = "Produtos encontrados",
                  content = @Content(schema = @Schema(implementation = ProductDTO.class)))
     public Response findByPriceRange(
             @Parameter(description = "Preço mínimo") @QueryParam("minPrice") BigDecimal minPrice,
-            @Parameter(description = "Preço máximo") @QueryParam("maxPrice") BigDecimal maxPrice) {
+            @Parameter(description = "Preço máximo") @QueryParam("maxPrice") BigDecimal maxPrice,
+            @Parameter(description = "Quantidade máxima de produtos") @QueryParam("limit") Integer limit,
+            @Parameter(description = "Ordenação por preço: asc ou desc") @QueryParam("sort") @DefaultValue("asc") String sort) {
         
+        Response invalid = validatePriceRange(minPrice, maxPrice);
+        if (invalid != null) {
+            return invalid;
+        }
+        if (limit != null && limit < 1) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Parâmetro 'limit' deve ser maior que zero").build();
+        }
+        if (!sort.equalsIgnoreCase("asc") && !sort.equalsIgnoreCase("desc")) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Parâmetro 'sort' deve ser 'asc' ou 'desc'").build();
+        }
+        
+        List<ProductDTO> productDTOs = productService.findByPriceRange(minPrice, maxPrice,
+                limit != null ? limit : Integer.MAX_VALUE, sort.equalsIgnoreCase("desc"));
+        return Response.ok(productDTOs).build();
+    }
+
+    @GET
+    @Path("/price-range")
+    @Produces(NdjsonWriter.MEDIA_TYPE)
+    @Operation(summary = "Exportar produtos por faixa de preço (NDJSON)", description = "Transmite os produtos da faixa de preço, um objeto JSON por linha")
+    @APIResponse(responseCode = "200", description = "Produtos transmitidos com sucesso")
+    public Response streamByPriceRange(
+            @Parameter(description = "Preço mínimo") @QueryParam("minPrice") BigDecimal minPrice,
+            @Parameter(description = "Preço máximo") @QueryParam("maxPrice") BigDecimal maxPrice) {
+
+        Response invalid = validatePriceRange(minPrice, maxPrice);
+        if (invalid != null) {
+            return invalid;
+        }
+
+        return Response.ok(ndjsonWriter.<ProductDTO>stream(sink -> productService.streamByPriceRange(minPrice, maxPrice, sink))).build();
+    }
+
+    static Response validatePriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
         if (minPrice == null || maxPrice == null) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("Parâmetros 'minPrice' e 'maxPrice' são obrigatórios").build();
         }
-        
+
         if (minPrice.compareTo(maxPrice) > 0) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("Preço mínimo não pode ser maior que preço máximo").build();
         }
-        
-        List<Product> products = productService.findByPriceRange(minPrice, maxPrice);
-        List<ProductDTO> productDTOs = products.stream()
-                .map(p -> new ProductDTO(p.id, p.name, p.price, p.description))
-                .toList();
-        return Response.ok(productDTOs).build();
+        return null;
     }
 }
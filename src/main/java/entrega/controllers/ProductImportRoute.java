@@ -0,0 +1,120 @@
+package entrega.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import entrega.dtos.ProductImportResultDTO;
+import entrega.exceptions.GlobalExceptionHandler;
+import entrega.exceptions.GlobalExceptionHandler.ErrorResponse;
+import entrega.services.ProductImportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+// POST /products/import (NDJSON ou CSV) como rota própria do Vert.x, registrada antes do limite global de
+// corpo (quarkus.http.limits.max-body-size): só esta rota aceita corpos de até api.products.import.max-body-size,
+// lidos em streaming por uma thread de trabalho. Os demais endpoints, que carregam o corpo em memória, ficam
+// com o limite padrão. Erros da importação seguem o mapeamento do GlobalExceptionHandler (ErrorResponse, api.errors);
+// o contrato está em openapi.yml.
+@ApplicationScoped
+public class ProductImportRoute {
+
+    static final String PATH = "/products/import";
+
+    @Inject
+    ProductImportService productImportService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "api.products.import.max-body-size", defaultValue = "1024M")
+    MemorySize maxBodySize;
+
+    void register(@Observes Router router) {
+        router.post(PATH).order(RouteConstants.ROUTE_ORDER_UPLOAD_LIMIT - 1).handler(this::handle);
+    }
+
+    private void handle(RoutingContext context) {
+        HttpServerRequest request = context.request();
+        ProductImportService.Format format = format(request.getHeader(HttpHeaders.CONTENT_TYPE));
+        if (format == null) {
+            respond(context, 415, new ErrorResponse("Formato não suportado: envie "
+                    + NdjsonWriter.MEDIA_TYPE + " ou " + ProductController.CSV_MEDIA_TYPE));
+            return;
+        }
+        long limit = maxBodySize.asLongValue();
+        String length = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (length != null && parseLength(length) > limit) {
+            respond(context, 413, new ErrorResponse("Arquivo maior que " + limit + " bytes"));
+            return;
+        }
+
+        RequestBodyInputStream body = new RequestBodyInputStream(request, limit);
+        context.vertx().<ProductImportResultDTO>executeBlocking(() -> {
+            try (body) {
+                return productImportService.importProducts(body, format);
+            }
+        }, false).onComplete(result -> {
+            body.discard();
+            if (result.succeeded()) {
+                respond(context, 200, result.result());
+            } else if (body.tooLarge()) {
+                respond(context, 413, new ErrorResponse("Arquivo maior que " + limit + " bytes"));
+            } else {
+                Exception cause = result.cause() instanceof Exception e ? e : new RuntimeException(result.cause());
+                Response response = GlobalExceptionHandler.toResponse(cause, "ProductImportRoute.handle", registry);
+                respond(context, response.getStatus(), response.getEntity());
+            }
+        });
+    }
+
+    // Tipo sem parâmetros (ex.: "text/csv; charset=UTF-8")
+    private static ProductImportService.Format format(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int separator = contentType.indexOf(';');
+        String type = (separator < 0 ? contentType : contentType.substring(0, separator)).trim().toLowerCase(Locale.ROOT);
+        return switch (type) {
+            case NdjsonWriter.MEDIA_TYPE -> ProductImportService.Format.NDJSON;
+            case ProductController.CSV_MEDIA_TYPE -> ProductImportService.Format.CSV;
+            default -> null;
+        };
+    }
+
+    private static long parseLength(String length) {
+        try {
+            return Long.parseLong(length.trim());
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private void respond(RoutingContext context, int status, Object entity) {
+        if (context.response().closed()) {
+            return;
+        }
+        try {
+            context.response()
+                    .setStatusCode(status)
+                    .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .end(objectMapper.writeValueAsString(entity));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
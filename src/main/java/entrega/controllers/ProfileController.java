@@ -2,12 +2,16 @@ package entrega.controllers;
 
 import entrega.dtos.ProfileDTO;
 import entrega.models.Profile;
+import entrega.repositories.KeysetPage;
 import entrega.services.ProfileService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -26,24 +30,34 @@ import java.util.Optional;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Profiles", description = "Operações para gerenciamento de perfis de clientes")
+@RunOnVirtualThread
 public class ProfileController {
 
     @Inject
     ProfileService profileService;
 
+    @Inject
+    Pagination pagination;
+
     @Context
     UriInfo uriInfo;
 
+    @Context
+    HttpHeaders headers;
+
+    @Context
+    Request request;
+
     @GET
-    @Operation(summary = "Listar todos os perfis", description = "Retorna uma lista com todos os perfis cadastrados")
+    @Operation(summary = "Listar perfis (paginado)", description = "Retorna uma página de perfis cadastrados, ordenada por ID")
     @APIResponse(responseCode = "200", description = "Lista de perfis retornada com sucesso",
                  content = @Content(schema = @Schema(implementation = ProfileDTO.class)))
-    public Response list() {
-        List<Profile> profiles = profileService.listAll();
-        List<ProfileDTO> profileDTOs = profiles.stream()
-                .map(this::convertToDTO)
-                .toList();
-        return Response.ok(profileDTOs).build();
+    public Response list(@Parameter(description = "Cursor retornado no header X-Next-Cursor") @QueryParam("after") String after,
+                         @Parameter(description = "Quantidade máxima de itens por página") @QueryParam("limit") Integer limit) {
+        int pageSize = pagination.limit(limit);
+        KeysetPage<ProfileDTO> page = profileService.listPage(pagination.decodeCursor(after), pageSize)
+                .map(this::convertToDTO);
+        return pagination.ok(page, uriInfo, pageSize);
     }
 
     @GET
@@ -52,13 +66,18 @@ public class ProfileController {
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Perfil encontrado",
                      content = @Content(schema = @Schema(implementation = ProfileDTO.class))),
+        @APIResponse(responseCode = "304", description = "Perfil não modificado desde a ETag informada em If-None-Match"),
         @APIResponse(responseCode = "404", description = "Perfil não encontrado")
     })
     public Response findById(@Parameter(description = "ID do perfil") @PathParam("id") Long id) {
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_NONE_MATCH, () -> profileService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
         Optional<Profile> profile = profileService.findById(id);
         if (profile.isPresent()) {
             ProfileDTO dto = convertToDTO(profile.get());
-            return Response.ok(dto).build();
+            return Response.ok(dto).tag(ETags.of(dto.version)).build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
@@ -67,13 +86,13 @@ public class ProfileController {
     @Operation(summary = "Criar novo perfil", description = "Cria um novo perfil no sistema")
     @APIResponses({
         @APIResponse(responseCode = "201", description = "Perfil criado com sucesso",
-                     content = @Content(schema = @Schema(implementation = Profile.class))),
+                     content = @Content(schema = @Schema(implementation = ProfileDTO.class))),
         @APIResponse(responseCode = "400", description = "Dados inválidos")
     })
     public Response create(@Valid Profile profile) {
         Profile created = profileService.create(profile);
         URI location = uriInfo.getAbsolutePathBuilder().path(created.id.toString()).build();
-        return Response.created(location).entity(created).build();
+        return Response.created(location).entity(convertToDTO(created)).build();
     }
 
     @PUT
@@ -82,12 +101,17 @@ public class ProfileController {
     @APIResponses({
         @APIResponse(responseCode = "200", description = "Perfil atualizado com sucesso"),
         @APIResponse(responseCode = "404", description = "Perfil não encontrado"),
-        @APIResponse(responseCode = "400", description = "Dados inválidos")
+        @APIResponse(responseCode = "400", description = "Dados inválidos"),
+        @APIResponse(responseCode = "412", description = "ETag informada em If-Match não é a atual")
     })
     public Response update(@Parameter(description = "ID do perfil") @PathParam("id") Long id, @Valid Profile profile) {
-        Optional<Profile> updated = profileService.update(id, profile);
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_MATCH, () -> profileService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
+        Optional<Profile> updated = profileService.update(id, profile, precondition.version());
         if (updated.isPresent()) {
-            return Response.ok(updated.get()).build();
+            return Response.ok(convertToDTO(updated.get())).tag(ETags.of(updated.get().version)).build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
@@ -97,10 +121,15 @@ public class ProfileController {
     @Operation(summary = "Deletar perfil", description = "Remove um perfil do sistema")
     @APIResponses({
         @APIResponse(responseCode = "204", description = "Perfil removido com sucesso"),
-        @APIResponse(responseCode = "404", description = "Perfil não encontrado")
+        @APIResponse(responseCode = "404", description = "Perfil não encontrado"),
+        @APIResponse(responseCode = "412", description = "ETag informada em If-Match não é a atual")
     })
     public Response delete(@Parameter(description = "ID do perfil") @PathParam("id") Long id) {
-        boolean deleted = profileService.delete(id);
+        ETags.Precondition precondition = ETags.check(headers, request, HttpHeaders.IF_MATCH, () -> profileService.findVersion(id));
+        if (precondition.failed()) {
+            return precondition.response();
+        }
+        boolean deleted = profileService.delete(id, precondition.version());
         if (deleted) {
             return Response.noContent().build();
         }
@@ -155,7 +184,8 @@ public class ProfileController {
                 profile.city,
                 profile.state,
                 profile.zipCode,
-                profile.customer.id
+                profile.customer.id,
+                profile.version
         );
     }
 }
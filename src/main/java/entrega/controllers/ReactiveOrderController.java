@@ -0,0 +1,86 @@
+package entrega.controllers;
+
+import entrega.dtos.OrderDTO;
+import entrega.models.enums.OrderStatus;
+import entrega.services.OrderService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+// Leituras de pedidos com resposta Uni: o H2 só tem driver JDBC bloqueante, então as consultas rodam no pool de
+// workers gerenciado pelo Quarkus (@Blocking), com o contexto de requisição ativo, e nunca no event loop
+@Path("/reactive/orders")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Reactive", description = "Leituras não bloqueantes (habilitadas com api.reactive.enabled=true)")
+@IfBuildProperty(name = "api.reactive.enabled", stringValue = "true")
+@Blocking
+public class ReactiveOrderController {
+
+    @Inject
+    OrderService orderService;
+
+    @Inject
+    Pagination pagination;
+
+    @Context
+    UriInfo uriInfo;
+
+    @GET
+    @Operation(summary = "Listar pedidos (paginado, não bloqueante)", description = "Mesma resposta de GET /orders")
+    @APIResponse(responseCode = "200", description = "Lista de pedidos retornada com sucesso",
+                 content = @Content(schema = @Schema(implementation = OrderDTO.class)))
+    public Uni<Response> list(@Parameter(description = "Cursor retornado no header X-Next-Cursor") @QueryParam("after") String after,
+                              @Parameter(description = "Quantidade máxima de itens por página") @QueryParam("limit") Integer limit) {
+        int pageSize = pagination.limit(limit);
+        Long afterId = pagination.decodeCursor(after);
+        return Uni.createFrom().item(() -> orderService.listPage(afterId, pageSize))
+                .map(page -> pagination.ok(page, uriInfo, pageSize));
+    }
+
+    @GET
+    @Path("/{id}")
+    @Operation(summary = "Buscar pedido por ID (não bloqueante)", description = "Mesma resposta de GET /orders/{id}")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Pedido encontrado",
+                     content = @Content(schema = @Schema(implementation = OrderDTO.class))),
+        @APIResponse(responseCode = "404", description = "Pedido não encontrado")
+    })
+    public Uni<Response> findById(@Parameter(description = "ID do pedido") @PathParam("id") Long id) {
+        return Uni.createFrom().item(() -> orderService.findById(id))
+                .map(order -> order.map(dto -> Response.ok(dto).build())
+                        .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build()));
+    }
+
+    @GET
+    @Path("/customer/{customerId}")
+    @Operation(summary = "Buscar pedidos por cliente (não bloqueante)", description = "Mesma resposta de GET /orders/customer/{customerId}")
+    @APIResponse(responseCode = "200", description = "Pedidos encontrados",
+                 content = @Content(schema = @Schema(implementation = OrderDTO.class)))
+    public Uni<List<OrderDTO>> findByCustomerId(@Parameter(description = "ID do cliente") @PathParam("customerId") Long customerId) {
+        return Uni.createFrom().item(() -> orderService.findByCustomerId(customerId));
+    }
+
+    @GET
+    @Path("/status/{status}")
+    @Operation(summary = "Buscar pedidos por status (não bloqueante)", description = "Mesma resposta de GET /orders/status/{status}")
+    @APIResponse(responseCode = "200", description = "Pedidos encontrados",
+                 content = @Content(schema = @Schema(implementation = OrderDTO.class)))
+    public Uni<List<OrderDTO>> findByStatus(@Parameter(description = "Status do pedido") @PathParam("status") OrderStatus status) {
+        return Uni.createFrom().item(() -> orderService.findByStatus(status));
+    }
+}
@@ -0,0 +1,129 @@
+package entrega.controllers;
+
+import entrega.dtos.ProductDTO;
+import entrega.repositories.KeysetPage;
+import entrega.services.ProductCatalog;
+import entrega.services.ProductService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import java.math.BigDecimal;
+
+// Leituras de produtos no event loop: tudo vem do snapshot em memória do catálogo, sem JDBC
+@Path("/reactive/products")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Reactive", description = "Leituras não bloqueantes (habilitadas com api.reactive.enabled=true)")
+@IfBuildProperty(name = "api.reactive.enabled", stringValue = "true")
+public class ReactiveProductController {
+
+    @Inject
+    ProductService productService;
+
+    @Inject
+    ProductCatalog productCatalog;
+
+    @Inject
+    Pagination pagination;
+
+    @Context
+    UriInfo uriInfo;
+
+    @GET
+    @Operation(summary = "Listar produtos (paginado, não bloqueante)", description = "Mesma resposta de GET /products, servida no event loop")
+    @APIResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso",
+                 content = @Content(schema = @Schema(implementation = ProductDTO.class)))
+    public Uni<Response> list(@Parameter(description = "Cursor retornado no header X-Next-Cursor") @QueryParam("after") String after,
+                              @Parameter(description = "Quantidade máxima de itens por página") @QueryParam("limit") Integer limit) {
+        return Uni.createFrom().item(() -> {
+            int pageSize = pagination.limit(limit);
+            ProductCatalog.Snapshot catalog = productCatalog.snapshot();
+            KeysetPage<byte[]> page = catalog.pageJson(pagination.decodeCursor(after), pageSize);
+            return pagination.ok(ProductCatalog.toJsonArray(page.items), page.nextAfter, uriInfo, pageSize)
+                    .header(ProductController.CATALOG_VERSION_HEADER, catalog.version)
+                    .build();
+        });
+    }
+
+    @GET
+    @Produces(NdjsonWriter.MEDIA_TYPE)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Exportar produtos (NDJSON, não bloqueante)", description = "Transmite o catálogo inteiro, um produto por linha, conforme o cliente consome")
+    @APIResponse(responseCode = "200", description = "Produtos transmitidos com sucesso")
+    public Multi<ProductDTO> stream() {
+        return Multi.createFrom().iterable(() -> productCatalog.snapshot().products().iterator());
+    }
+
+    @GET
+    @Path("/{id}")
+    @Operation(summary = "Buscar produto por ID (não bloqueante)", description = "Mesma resposta de GET /products/{id}, servida no event loop")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "Produto encontrado",
+                     content = @Content(schema = @Schema(implementation = ProductDTO.class))),
+        @APIResponse(responseCode = "404", description = "Produto não encontrado")
+    })
+    public Uni<Response> findById(@Parameter(description = "ID do produto") @PathParam("id") Long id) {
+        return Uni.createFrom().item(() -> {
+            ProductCatalog.Snapshot catalog = productCatalog.snapshot();
+            return catalog.findJson(id)
+                    .map(json -> Response.ok(json).header(ProductController.CATALOG_VERSION_HEADER, catalog.version).build())
+                    .orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
+        });
+    }
+
+    @GET
+    @Path("/search")
+    @Operation(summary = "Buscar produtos por nome (não bloqueante)", description = "Mesma busca de GET /products/search, servida no event loop")
+    @APIResponse(responseCode = "200", description = "Produtos encontrados",
+                 content = @Content(schema = @Schema(implementation = ProductDTO.class)))
+    public Uni<Response> findByName(@Parameter(description = "Nome para busca") @QueryParam("name") String name) {
+        return Uni.createFrom().item(() -> {
+            if (name == null || name.trim().isEmpty()) {
+                return Response.status(Response.Status.BAD_REQUEST).entity("Parâmetro 'name' é obrigatório").build();
+            }
+            return Response.ok(productService.findByNameContaining(name)).build();
+        });
+    }
+
+    @GET
+    @Path("/price-range")
+    @Operation(summary = "Buscar produtos por faixa de preço (não bloqueante)", description = "Mesma busca de GET /products/price-range, servida no event loop")
+    @APIResponse(responseCode = "200", description = "Produtos encontrados",
+                 content = @Content(schema = @Schema(implementation = ProductDTO.class)))
+    public Uni<Response> findByPriceRange(
+            @Parameter(description = "Preço mínimo") @QueryParam("minPrice") BigDecimal minPrice,
+            @Parameter(description = "Preço máximo") @QueryParam("maxPrice") BigDecimal maxPrice,
+            @Parameter(description = "Quantidade máxima de produtos") @QueryParam("limit") Integer limit,
+            @Parameter(description = "Ordenação por preço: asc ou desc") @QueryParam("sort") @DefaultValue("asc") String sort) {
+        return Uni.createFrom().item(() -> {
+            Response invalid = ProductController.validatePriceRange(minPrice, maxPrice);
+            if (invalid != null) {
+                return invalid;
+            }
+            if (limit != null && limit < 1) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Parâmetro 'limit' deve ser maior que zero").build();
+            }
+            if (!sort.equalsIgnoreCase("asc") && !sort.equalsIgnoreCase("desc")) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Parâmetro 'sort' deve ser 'asc' ou 'desc'").build();
+            }
+            return Response.ok(productService.findByPriceRange(minPrice, maxPrice,
+                    limit != null ? limit : Integer.MAX_VALUE, sort.equalsIgnoreCase("desc"))).build();
+        });
+    }
+}
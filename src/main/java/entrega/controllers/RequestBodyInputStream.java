@@ -0,0 +1,112 @@
+package entrega.controllers;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+// Corpo de uma requisição do Vert.x como InputStream bloqueante, lido por uma thread de trabalho: cada leitura
+// pede um único buffer (fetch) e espera por ele, então o corpo nunca se acumula em memória. Passar de limit
+// bytes interrompe a leitura com erro.
+final class RequestBodyInputStream extends InputStream {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final HttpServerRequest request;
+    private final long limit;
+
+    private byte[] current = EMPTY;
+    private int position;
+    private boolean requested;
+    private boolean ended;
+    private IOException failure;
+    private long received;
+    private volatile boolean tooLarge;
+
+    // Deve ser criado no event loop da requisição, antes de qualquer parte do corpo ser entregue
+    RequestBodyInputStream(HttpServerRequest request, long limit) {
+        this.request = request;
+        this.limit = limit;
+        request.pause();
+        request.handler(this::onData);
+        request.exceptionHandler(this::onFailure);
+        request.endHandler(ignored -> onEnd());
+    }
+
+    boolean tooLarge() {
+        return tooLarge;
+    }
+
+    // No event loop, ao responder: o restante do corpo (não lido após um erro) é descartado
+    void discard() {
+        request.handler(ignored -> { });
+        request.resume();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+    }
+
+    @Override
+    public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (position == current.length) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (ended) {
+                return -1;
+            }
+            if (!requested) {
+                requested = true;
+                request.fetch(1);
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Leitura do corpo interrompida");
+            }
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    private synchronized void onData(Buffer buffer) {
+        requested = false;
+        received += buffer.length();
+        if (received > limit) {
+            tooLarge = true;
+            fail(new IOException("Corpo da requisição maior que " + limit + " bytes"));
+        } else {
+            current = buffer.getBytes();
+            position = 0;
+        }
+        notifyAll();
+    }
+
+    private synchronized void onEnd() {
+        ended = true;
+        notifyAll();
+    }
+
+    private synchronized void onFailure(Throwable error) {
+        fail(error instanceof IOException io ? io : new IOException(error));
+        notifyAll();
+    }
+
+    private void fail(IOException error) {
+        if (failure == null && !ended) {
+            failure = error;
+        }
+        ended = true;
+    }
+}
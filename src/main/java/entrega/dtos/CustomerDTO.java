@@ -5,10 +5,12 @@ public class CustomerDTO {
     public Long id;
     public String name;
     public String email;
+    public Long version;
 
-    public CustomerDTO(Long id, String name, String email) {
+    public CustomerDTO(Long id, String name, String email, Long version) {
         this.id = id;
         this.name = name;
         this.email = email;
+        this.version = version;
     }
 }
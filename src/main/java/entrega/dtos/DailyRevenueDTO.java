@@ -0,0 +1,18 @@
+package entrega.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class DailyRevenueDTO {
+    public LocalDate date;
+    public long orders;
+    public BigDecimal revenue;
+
+    public DailyRevenueDTO() {}
+
+    public DailyRevenueDTO(LocalDate date, long orders, BigDecimal revenue) {
+        this.date = date;
+        this.orders = orders;
+        this.revenue = revenue;
+    }
+}
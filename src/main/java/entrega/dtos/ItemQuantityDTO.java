@@ -0,0 +1,15 @@
+package entrega.dtos;
+
+import entrega.models.OrderItem;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class ItemQuantityDTO {
+
+    @NotNull(message = "Quantidade é obrigatória")
+    // Zero remove o item
+    @Min(value = 0, message = "Quantidade não pode ser negativa")
+    @Max(value = OrderItem.MAX_QUANTITY, message = "Quantidade deve ser no máximo " + OrderItem.MAX_QUANTITY)
+    public Integer quantity;
+}
@@ -0,0 +1,51 @@
+package entrega.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderBatchResultDTO {
+    public int total;
+    public int created;
+    public int rejected;
+    public List<Entry> results = new ArrayList<>();
+
+    public OrderBatchResultDTO() {}
+
+    public OrderBatchResultDTO(int total) {
+        this.total = total;
+        for (int i = 0; i < total; i++) {
+            results.add(new Entry(i));
+        }
+    }
+
+    public void created(int index, Long id) {
+        Entry entry = results.get(index);
+        entry.status = Entry.CREATED;
+        entry.id = id;
+        created++;
+    }
+
+    public void rejected(int index, List<String> errors) {
+        Entry entry = results.get(index);
+        entry.status = Entry.REJECTED;
+        entry.errors = errors;
+        rejected++;
+    }
+
+    // Resultado de um pedido do lote, na mesma posição em que foi enviado
+    public static class Entry {
+        public static final String CREATED = "CREATED";
+        public static final String REJECTED = "REJECTED";
+
+        public int index;
+        public Long id;
+        public String status;
+        public List<String> errors;
+
+        public Entry() {}
+
+        public Entry(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package entrega.dtos;
+
+import entrega.models.enums.OrderStatus;
+
+import java.math.BigDecimal;
+
+// Evento de /events/orders; em DELETED status e totalAmount vêm nulos e version é a última versão
+public class OrderChangeDTO {
+    public Long id;
+    public String type;
+    public OrderStatus status;
+    public BigDecimal totalAmount;
+    public Long version;
+
+    public OrderChangeDTO() {}
+
+    public OrderChangeDTO(Long id, String type, OrderStatus status, BigDecimal totalAmount, Long version) {
+        this.id = id;
+        this.type = type;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.version = version;
+    }
+}
@@ -12,18 +12,20 @@ public class OrderDTO {
     public OrderStatus status;
     public LocalDateTime orderDate;
     public BigDecimal totalAmount;
-    public List<ProductDTO> products;
+    public List<OrderItemDTO> items;
+    public Long version;
 
     public OrderDTO() {}
 
     public OrderDTO(Long id, Long customerId, String customerName, OrderStatus status, 
-                   LocalDateTime orderDate, BigDecimal totalAmount, List<ProductDTO> products) {
+                   LocalDateTime orderDate, BigDecimal totalAmount, List<OrderItemDTO> items, Long version) {
         this.id = id;
         this.customerId = customerId;
         this.customerName = customerName;
         this.status = status;
         this.orderDate = orderDate;
         this.totalAmount = totalAmount;
-        this.products = products;
+        this.items = items;
+        this.version = version;
     }
 }
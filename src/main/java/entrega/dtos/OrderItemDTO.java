@@ -0,0 +1,23 @@
+package entrega.dtos;
+
+import java.math.BigDecimal;
+
+public class OrderItemDTO {
+    public Long id;
+    public Long productId;
+    public String productName;
+    public int quantity;
+    public BigDecimal unitPrice;
+    public BigDecimal subtotal;
+
+    public OrderItemDTO() {}
+
+    public OrderItemDTO(Long id, Long productId, String productName, int quantity, BigDecimal unitPrice) {
+        this.id = id;
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
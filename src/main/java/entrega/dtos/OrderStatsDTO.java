@@ -0,0 +1,23 @@
+package entrega.dtos;
+
+import entrega.models.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class OrderStatsDTO {
+    public long totalOrders;
+    public Map<OrderStatus, Long> countByStatus;
+    // Soma dos pedidos que não estão cancelados
+    public BigDecimal totalRevenue;
+    public long ordersToday;
+
+    public OrderStatsDTO() {}
+
+    public OrderStatsDTO(long totalOrders, Map<OrderStatus, Long> countByStatus, BigDecimal totalRevenue, long ordersToday) {
+        this.totalOrders = totalOrders;
+        this.countByStatus = countByStatus;
+        this.totalRevenue = totalRevenue;
+        this.ordersToday = ordersToday;
+    }
+}
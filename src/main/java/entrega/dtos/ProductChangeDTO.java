@@ -0,0 +1,20 @@
+package entrega.dtos;
+
+import java.math.BigDecimal;
+
+// Evento de /events/products; em DELETED price e version vêm nulos
+public class ProductChangeDTO {
+    public Long id;
+    public String type;
+    public BigDecimal price;
+    public Long version;
+
+    public ProductChangeDTO() {}
+
+    public ProductChangeDTO(Long id, String type, BigDecimal price, Long version) {
+        this.id = id;
+        this.type = type;
+        this.price = price;
+        this.version = version;
+    }
+}
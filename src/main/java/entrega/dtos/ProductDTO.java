@@ -7,13 +7,15 @@ public class ProductDTO {
     public String name;
     public BigDecimal price;
     public String description;
+    public Long version;
 
     public ProductDTO() {}
 
-    public ProductDTO(Long id, String name, BigDecimal price, String description) {
+    public ProductDTO(Long id, String name, BigDecimal price, String description, Long version) {
         this.id = id;
         this.name = name;
         this.price = price;
         this.description = description;
+        this.version = version;
     }
 }
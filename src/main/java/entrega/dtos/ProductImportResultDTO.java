@@ -0,0 +1,25 @@
+package entrega.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportResultDTO {
+    public long inserted;
+    public long updated;
+    public long unchanged;
+    public long rejected;
+    // Apenas as primeiras linhas rejeitadas, para a resposta não crescer com o arquivo
+    public List<RowError> errors = new ArrayList<>();
+
+    public static class RowError {
+        public long line;
+        public String message;
+
+        public RowError() {}
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package entrega.dtos;
+
+import java.math.BigDecimal;
+
+public class ProductSalesDTO {
+    public Long productId;
+    public String productName;
+    public long units;
+    public BigDecimal revenue;
+
+    public ProductSalesDTO() {}
+
+    public ProductSalesDTO(Long productId, String productName, long units, BigDecimal revenue) {
+        this.productId = productId;
+        this.productName = productName;
+        this.units = units;
+        this.revenue = revenue;
+    }
+}
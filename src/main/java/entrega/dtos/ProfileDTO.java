@@ -8,11 +8,12 @@ public class ProfileDTO {
     public String state;
     public String zipCode;
     public Long customerId;
+    public Long version;
 
     public ProfileDTO() {}
 
     public ProfileDTO(Long id, String address, String phone, String city, 
-                     String state, String zipCode, Long customerId) {
+                     String state, String zipCode, Long customerId, Long version) {
         this.id = id;
         this.address = address;
         this.phone = phone;
@@ -20,5 +21,6 @@ public class ProfileDTO {
         this.state = state;
         this.zipCode = zipCode;
         this.customerId = customerId;
+        this.version = version;
     }
 }
@@ -0,0 +1,23 @@
+package entrega.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Totais dos pedidos não cancelados entre from e to (inclusive)
+public class SalesSummaryDTO {
+    public LocalDate from;
+    public LocalDate to;
+    public long orders;
+    public BigDecimal revenue;
+    public BigDecimal averageOrderValue;
+
+    public SalesSummaryDTO() {}
+
+    public SalesSummaryDTO(LocalDate from, LocalDate to, long orders, BigDecimal revenue, BigDecimal averageOrderValue) {
+        this.from = from;
+        this.to = to;
+        this.orders = orders;
+        this.revenue = revenue;
+        this.averageOrderValue = averageOrderValue;
+    }
+}
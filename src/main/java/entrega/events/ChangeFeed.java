@@ -0,0 +1,99 @@
+package entrega.events;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Buffer circular com os últimos eventos de um feed, já serializados. Quem publica nunca espera pelos
+// assinantes: cada um lê a partir da própria posição (sequência) e, se ficar mais de "capacity" eventos
+// para trás, perde a continuidade e precisa se ressincronizar. ReentrantLock em vez de synchronized para
+// não fixar as virtual threads que esperam por eventos.
+public class ChangeFeed {
+
+    public record Entry(long sequence, String data) {}
+
+    private final String[] entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    // Sequência do próximo evento; a primeira é 1
+    private long nextSequence = 1;
+    private boolean closed;
+
+    public ChangeFeed(int capacity) {
+        entries = new String[capacity];
+    }
+
+    public void publish(String data) {
+        lock.lock();
+        try {
+            entries[(int) (nextSequence % entries.length)] = data;
+            nextSequence++;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Sequência do último evento publicado (0 se nenhum)
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Até max eventos posteriores a "after", esperando até timeout se ainda não houver nenhum. Lista vazia
+    // quando o prazo acaba ou o feed é fechado; null quando eventos posteriores a "after" já saíram do buffer.
+    public List<Entry> read(long after, int max, Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = timeout.toNanos();
+            while (nextSequence - 1 <= after && !closed && nanos > 0) {
+                nanos = published.awaitNanos(nanos);
+            }
+            long oldest = Math.max(1, nextSequence - entries.length);
+            if (after + 1 < oldest) {
+                return null;
+            }
+            long end = Math.min(nextSequence, after + 1 + max);
+            List<Entry> read = new ArrayList<>((int) Math.max(0, end - after - 1));
+            for (long sequence = after + 1; sequence < end; sequence++) {
+                read.add(new Entry(sequence, entries[(int) (sequence % entries.length)]));
+            }
+            return read;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Acorda os assinantes em espera para que encerrem as conexões
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public AtomicInteger subscribers() {
+        return subscribers;
+    }
+}
@@ -0,0 +1,87 @@
+package entrega.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import entrega.dtos.OrderChangeDTO;
+import entrega.dtos.OrderDTO;
+import entrega.dtos.ProductChangeDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.UncheckedIOException;
+
+// Feeds de alterações de pedidos e produtos para /events: cada commit do OrderService e do ProductService
+// (e cada produto gravado pela importação) vira um evento compacto, serializado uma única vez e guardado no buffer circular do feed
+@ApplicationScoped
+public class ChangeFeeds {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "api.events.buffer-size", defaultValue = "1024")
+    int bufferSize;
+
+    private ChangeFeed orders;
+    private ChangeFeed products;
+
+    @PostConstruct
+    void init() {
+        orders = newFeed("orders");
+        products = newFeed("products");
+    }
+
+    public ChangeFeed orders() {
+        return orders;
+    }
+
+    public ChangeFeed products() {
+        return products;
+    }
+
+    void onOrderChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) OrderChangedEvent event) {
+        OrderDTO order = event.order != null ? event.order : event.previous;
+        orders.publish(json(new OrderChangeDTO(event.id, event.type.name(),
+                event.order != null ? event.order.status : null,
+                event.order != null ? event.order.totalAmount : null,
+                order != null ? order.version : null)));
+    }
+
+    void onProductChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+        products.publish(json(new ProductChangeDTO(event.id, event.type.name(),
+                event.product != null ? event.product.price : null,
+                event.product != null ? event.product.version : null)));
+    }
+
+    void onProductsImported(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductsImportedEvent event) {
+        event.changes.forEach(this::onProductChanged);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        orders.close();
+        products.close();
+    }
+
+    private ChangeFeed newFeed(String name) {
+        ChangeFeed feed = new ChangeFeed(bufferSize);
+        Gauge.builder("api.events.subscribers", feed, f -> f.subscribers().get()).tag("feed", name).register(registry);
+        return feed;
+    }
+
+    private String json(Object change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
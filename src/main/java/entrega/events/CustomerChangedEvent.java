@@ -0,0 +1,23 @@
+package entrega.events;
+
+import entrega.dtos.CustomerDTO;
+
+// Disparado pelo CustomerService; os observadores reagem somente após o commit
+public class CustomerChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public final Type type;
+    public final Long id;
+    public final CustomerDTO customer;
+
+    public CustomerChangedEvent(Type type, Long id, CustomerDTO customer) {
+        this.type = type;
+        this.id = id;
+        this.customer = customer;
+    }
+}
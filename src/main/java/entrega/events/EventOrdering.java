@@ -0,0 +1,49 @@
+package entrega.events;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Descarta eventos AFTER_SUCCESS atrasados. Commits concorrentes podem entregar os eventos fora de ordem: uma
+// alteração só é aplicada se a versão (@Version) for igual ou maior que a última aplicada ao mesmo id, e um id
+// excluído não volta com uma criação ou alteração que chegue depois. Cada observador tem a sua instância e a
+// usa sob o próprio lock.
+public final class EventOrdering {
+
+    // Exclusões lembradas (as mais antigas saem primeiro). Um evento atrasado chega instantes depois da
+    // exclusão, enquanto a transação concorrente termina, então só as recentes importam.
+    static final int MAX_TOMBSTONES = 10_000;
+
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final Map<Long, Boolean> deleted = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > MAX_TOMBSTONES;
+        }
+    };
+
+    // Antes de uma recarga do banco: as versões passam a ser as lidas (com accept); as exclusões recentes continuam
+    public void reset() {
+        versions.clear();
+    }
+
+    // true se a criação ou alteração deve ser aplicada; a versão passa a ser a última aplicada ao id
+    public boolean accept(Long id, Long version) {
+        if (deleted.containsKey(id)) {
+            return false;
+        }
+        Long current = versions.get(id);
+        if (current != null && version != null && version < current) {
+            return false;
+        }
+        if (version != null) {
+            versions.put(id, version);
+        }
+        return true;
+    }
+
+    public void delete(Long id) {
+        versions.remove(id);
+        deleted.put(id, Boolean.TRUE);
+    }
+}
@@ -0,0 +1,28 @@
+package entrega.events;
+
+import entrega.dtos.OrderDTO;
+
+// Disparado pelo OrderService; os observadores reagem somente após o commit.
+// Traz o pedido (com os itens) antes e depois da alteração, para que agregados sejam ajustados sem reler o banco.
+public class OrderChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public final Type type;
+    public final Long id;
+    // null em CREATED
+    public final OrderDTO previous;
+    // null em DELETED
+    public final OrderDTO order;
+
+    public OrderChangedEvent(Type type, Long id, OrderDTO previous, OrderDTO order) {
+        this.type = type;
+        this.id = id;
+        this.previous = previous;
+        this.order = order;
+    }
+}
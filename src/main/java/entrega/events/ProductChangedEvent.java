@@ -0,0 +1,23 @@
+package entrega.events;
+
+import entrega.dtos.ProductDTO;
+
+// Disparado pelo ProductService; os observadores reagem somente após o commit
+public class ProductChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public final Type type;
+    public final Long id;
+    public final ProductDTO product;
+
+    public ProductChangedEvent(Type type, Long id, ProductDTO product) {
+        this.type = type;
+        this.id = id;
+        this.product = product;
+    }
+}
@@ -0,0 +1,15 @@
+package entrega.events;
+
+import java.util.List;
+
+// Disparado pelo ProductImportService uma vez por bloco gravado, com uma alteração por produto inserido ou
+// atualizado. Os observadores reagem somente após o commit e aplicam o bloco inteiro de uma vez, em vez de
+// um ProductChangedEvent (e uma cópia do catálogo) por linha.
+public class ProductsImportedEvent {
+
+    public final List<ProductChangedEvent> changes;
+
+    public ProductsImportedEvent(List<ProductChangedEvent> changes) {
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,9 @@
+package entrega.exceptions;
+
+// E-mail já usado por outro cliente (409)
+public class DuplicateEmailException extends RuntimeException {
+
+    public DuplicateEmailException(String email) {
+        super("e-mail " + email + " já cadastrado");
+    }
+}
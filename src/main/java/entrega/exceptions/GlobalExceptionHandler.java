@@ -1,12 +1,18 @@
 package entrega.exceptions;
 
+import entrega.services.OptimisticRetry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
 import org.jboss.logging.Logger;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,10 +21,41 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
     
     private static final Logger LOG = Logger.getLogger(GlobalExceptionHandler.class);
 
+    @Inject
+    MeterRegistry registry;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    // Erros contados por método do controller (ex.: OrderController.findById), com tags de cardinalidade limitada
     @Override
     public Response toResponse(Exception exception) {
-        LOG.error("Erro não tratado: ", exception);
-        
+        Method method = resourceInfo.getResourceMethod();
+        String resource = method == null
+                ? "none"
+                : method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return toResponse(exception, resource, registry);
+    }
+
+    // Mesmo mapeamento para rotas fora do JAX-RS (ex.: ProductImportRoute), que informam o recurso das métricas
+    public static Response toResponse(Exception exception, String resource, MeterRegistry registry) {
+        // Duplicatas (recusadas pelo registro ou pelo índice único do banco) são respostas esperadas: sem stack trace no log
+        if (exception instanceof DuplicateEmailException) {
+            LOG.debug(exception.getMessage());
+        } else if (isUniqueViolation(exception)) {
+            LOG.debugf("Registro duplicado recusado pelo banco: %s", exception.getMessage());
+        } else {
+            LOG.error("Erro não tratado: ", exception);
+        }
+        Response response = map(exception);
+        registry.counter("api.errors",
+                "resource", resource,
+                "exception", exception.getClass().getSimpleName(),
+                "status", String.valueOf(response.getStatus())).increment();
+        return response;
+    }
+
+    private static Response map(Exception exception) {
         if (exception instanceof ConstraintViolationException) {
             return handleConstraintViolation((ConstraintViolationException) exception);
         }
@@ -29,6 +66,31 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
                     .build();
         }
         
+        if (exception instanceof PreconditionFailedException) {
+            return Response.status(Response.Status.PRECONDITION_FAILED)
+                    .entity(new ErrorResponse("Registro desatualizado: " + exception.getMessage()))
+                    .build();
+        }
+
+        if (exception instanceof DuplicateEmailException) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponse("Conflito: " + exception.getMessage()))
+                    .build();
+        }
+
+        // Violação de unicidade no banco (ex.: dois cadastros simultâneos com variações do mesmo e-mail)
+        if (isUniqueViolation(exception)) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponse("Conflito: registro duplicado"))
+                    .build();
+        }
+
+        if (OptimisticRetry.isConflict(exception)) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponse("Registro alterado por outra requisição; recarregue e tente novamente"))
+                    .build();
+        }
+
         if (exception instanceof jakarta.ws.rs.NotFoundException) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(new ErrorResponse("Recurso não encontrado"))
@@ -41,7 +103,17 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
                 .build();
     }
     
-    private Response handleConstraintViolation(ConstraintViolationException exception) {
+    private static boolean isUniqueViolation(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && violation.getKind() == org.hibernate.exception.ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Response handleConstraintViolation(ConstraintViolationException exception) {
         List<String> errors = new ArrayList<>();
         
         for (ConstraintViolation<?> violation : exception.getConstraintViolations()) {
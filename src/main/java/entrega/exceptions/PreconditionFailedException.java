@@ -0,0 +1,16 @@
+package entrega.exceptions;
+
+// Versão informada em If-Match diferente da versão atual do registro (412)
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public static void checkVersion(Long expected, Long current) {
+        if (expected != null && !expected.equals(current)) {
+            throw new PreconditionFailedException(
+                    "versão " + expected + " informada em If-Match difere da versão atual " + current);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package entrega.fulfilment;
+
+import entrega.events.OrderChangedEvent;
+import entrega.models.enums.OrderStatus;
+import entrega.repositories.OrderRepository;
+import entrega.services.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Pipeline de atendimento em processo: cada pedido criado entra na fila da primeira etapa e percorre as
+// etapas de api.fulfilment.stages ("nome:STATUS", a primeira parte de NEW e cada uma das seguintes do
+// status da anterior). As transições são feitas em lote, com UPDATEs em massa, por OrderService.transitionStatus.
+// A entrada não bloqueia quem criou o pedido: com a primeira fila cheia o pedido fica NEW e é recolhido pela
+// varredura de recuperação (a cada api.fulfilment.recovery-interval, nas etapas que ficaram com pedidos de fora).
+// Na inicialização os pedidos que já estão no status de origem de cada etapa voltam para as filas, e o que passar
+// da capacidade de uma fila fica para as varreduras seguintes daquela etapa; no encerramento a entrada é
+// fechada e as etapas esvaziam as filas em ordem, até api.fulfilment.drain-timeout.
+@ApplicationScoped
+public class FulfilmentPipeline {
+
+    private static final Logger LOG = Logger.getLogger(FulfilmentPipeline.class);
+
+    @Inject
+    OrderService orderService;
+
+    @Inject
+    OrderRepository orderRepository;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "api.fulfilment.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "api.fulfilment.stages", defaultValue = "validate:PROCESSING,ship:SHIPPED")
+    List<String> stageDefinitions;
+
+    @ConfigProperty(name = "api.fulfilment.queue-capacity", defaultValue = "1000")
+    int queueCapacity;
+
+    @ConfigProperty(name = "api.fulfilment.batch-size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "api.fulfilment.linger", defaultValue = "20ms")
+    Duration linger;
+
+    @ConfigProperty(name = "api.fulfilment.recovery-interval", defaultValue = "10s")
+    Duration recoveryInterval;
+
+    @ConfigProperty(name = "api.fulfilment.drain-timeout", defaultValue = "30s")
+    Duration drainTimeout;
+
+    private final List<FulfilmentStage> stages = new ArrayList<>();
+
+    private volatile boolean accepting;
+
+    private ScheduledExecutorService recovery;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        OrderStatus from = OrderStatus.NEW;
+        for (String definition : stageDefinitions) {
+            FulfilmentStage stage = newStage(definition.trim(), from);
+            stages.add(stage);
+            from = stage.to;
+        }
+        for (int i = 0; i < stages.size(); i++) {
+            stages.get(i).start(i + 1 < stages.size() ? stages.get(i + 1) : null);
+        }
+        // A entrada abre antes da varredura: pedidos criados no meio dela chegam pelo evento, e os que chegarem
+        // pelos dois caminhos entram na fila uma vez só
+        accepting = true;
+        stages.forEach(this::sweep);
+        recovery = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("fulfilment-recovery").daemon().factory());
+        long interval = recoveryInterval.toMillis();
+        recovery.scheduleWithFixedDelay(this::recoverDropped, interval, interval, TimeUnit.MILLISECONDS);
+        LOG.infof("Pipeline de atendimento ativo: %s", stageDefinitions);
+    }
+
+    void onOrderChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) OrderChangedEvent event) {
+        if (event.type != OrderChangedEvent.Type.CREATED || !accepting) {
+            return;
+        }
+        // Roda na thread da requisição que criou o pedido (uma vez por pedido em /orders/batch): nunca espera
+        if (!stages.get(0).offer(event.id)) {
+            registry.counter("api.fulfilment.dropped").increment();
+            stages.get(0).markForSweep();
+            LOG.debugf("Fila de atendimento cheia: pedido %d fica %s até a varredura de recuperação", event.id, OrderStatus.NEW);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (stages.isEmpty()) {
+            return;
+        }
+        accepting = false;
+        recovery.shutdownNow();
+        stages.get(0).closeUpstream();
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        try {
+            for (FulfilmentStage stage : stages) {
+                Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+                if (!stage.awaitTermination(remaining)) {
+                    LOG.warnf("Etapa %s não esvaziou a fila em %d ms", stage.name, drainTimeout.toMillis());
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Os pedidos que ficaram nas filas continuam no status em que estavam e voltam na próxima inicialização
+        stages.forEach(FulfilmentStage::interrupt);
+        LOG.infof("Pipeline de atendimento encerrado");
+    }
+
+    private FulfilmentStage newStage(String definition, OrderStatus from) {
+        int separator = definition.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalStateException("Etapa inválida em api.fulfilment.stages: " + definition + " (use nome:STATUS)");
+        }
+        String name = definition.substring(0, separator);
+        OrderStatus to = OrderStatus.valueOf(definition.substring(separator + 1));
+        if (to == from) {
+            throw new IllegalStateException("A etapa " + name + " não altera o status " + from);
+        }
+        return new FulfilmentStage(name, from, to, queueCapacity, batchSize, linger,
+                ids -> orderService.transitionStatus(ids, from, to), registry);
+    }
+
+    // Relê as etapas que ficaram com pedidos de fora: descartados na entrada ou além da capacidade numa varredura
+    private void recoverDropped() {
+        for (FulfilmentStage stage : stages) {
+            if (accepting && stage.takeSweep()) {
+                sweep(stage);
+            }
+        }
+    }
+
+    // Pedidos no status de origem da etapa: os que estavam no meio do pipeline quando a aplicação parou ou não
+    // couberam na fila. O que não couber agora marca a etapa para a próxima varredura.
+    private void sweep(FulfilmentStage stage) {
+        try {
+            int capacity = stage.remainingCapacity();
+            if (capacity == 0) {
+                stage.markForSweep();
+                return;
+            }
+            // Os mais antigos no status de origem podem já estar na fila: a consulta pula esses também
+            int limit = capacity + stage.tracked();
+            List<Long> ids = QuarkusTransaction.requiringNew()
+                    .call(() -> orderRepository.findIdsByStatus(stage.from, limit));
+            boolean full = false;
+            for (long id : ids) {
+                if (!stage.offer(id)) {
+                    full = true;
+                    break;
+                }
+            }
+            if (full || ids.size() == limit) {
+                stage.markForSweep();
+            }
+            if (!ids.isEmpty()) {
+                LOG.debugf("Etapa %s: varredura encontrou %d pedidos %s", stage.name, ids.size(), stage.from);
+            }
+        } catch (RuntimeException e) {
+            stage.markForSweep();
+            LOG.errorf(e, "Falha na varredura de recuperação da etapa %s", stage.name);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package entrega.fulfilment;
+
+import entrega.models.enums.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// Etapa do pipeline: uma thread retira da fila lotes de até batchSize pedidos (esperando até linger pelo
+// lote encher), move os que ainda estão em "from" para "to" numa única transação e passa esses para a
+// fila da etapa seguinte. A fila é limitada: quando ela enche, a etapa anterior espera por espaço e a entrada
+// do pipeline (offer) desiste na hora. Um pedido já na fila não entra de novo (evento e varredura de recuperação).
+class FulfilmentStage {
+
+    private static final Logger LOG = Logger.getLogger(FulfilmentStage.class);
+
+    // Lotes que falham voltam para a fila até esse número de tentativas
+    private static final int MAX_ATTEMPTS = 3;
+
+    // Pedido na fila, com o instante em que entrou na etapa (latência por etapa)
+    record Ticket(long orderId, long enqueuedAt, int attempts) {
+        Ticket(long orderId) {
+            this(orderId, System.nanoTime(), 1);
+        }
+    }
+
+    final String name;
+    final OrderStatus from;
+    final OrderStatus to;
+
+    private final BlockingQueue<Ticket> queue;
+    // Ids presentes na fila, para descartar entregas repetidas do mesmo pedido
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Function<Collection<Long>, List<Long>> transition;
+    private final Thread worker;
+
+    private final Timer batchTime;
+    private final Timer latency;
+    private final Counter moved;
+    private final Counter skipped;
+    private final Counter failed;
+
+    private FulfilmentStage next;
+
+    // Há pedidos no status de origem que não couberam na fila: a próxima varredura de recuperação relê a etapa
+    private final AtomicBoolean needsSweep = new AtomicBoolean();
+
+    // A etapa anterior (ou a entrada do pipeline) não entrega mais pedidos: esvazia a fila e termina
+    private volatile boolean upstreamClosed;
+
+    FulfilmentStage(String name, OrderStatus from, OrderStatus to, int capacity, int batchSize, Duration linger,
+                    Function<Collection<Long>, List<Long>> transition, MeterRegistry registry) {
+        this.name = name;
+        this.from = from;
+        this.to = to;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.transition = transition;
+        this.worker = Thread.ofPlatform().name("fulfilment-" + name).daemon().unstarted(this::run);
+
+        Gauge.builder("api.fulfilment.queue.depth", queue, BlockingQueue::size).tag("stage", name).register(registry);
+        batchTime = Timer.builder("api.fulfilment.batch").tag("stage", name).register(registry);
+        latency = Timer.builder("api.fulfilment.latency").tag("stage", name).register(registry);
+        moved = registry.counter("api.fulfilment.orders", "stage", name, "result", "moved");
+        skipped = registry.counter("api.fulfilment.orders", "stage", name, "result", "skipped");
+        failed = registry.counter("api.fulfilment.orders", "stage", name, "result", "failed");
+    }
+
+    void start(FulfilmentStage next) {
+        this.next = next;
+        worker.start();
+    }
+
+    // Sem esperar: false se a fila estiver cheia. Um pedido que já está na fila conta como aceito.
+    boolean offer(long orderId) {
+        return offer(new Ticket(orderId));
+    }
+
+    private boolean offer(Ticket ticket) {
+        if (!queued.add(ticket.orderId())) {
+            return true;
+        }
+        if (queue.offer(ticket)) {
+            return true;
+        }
+        queued.remove(ticket.orderId());
+        return false;
+    }
+
+    // Espera por espaço na fila (back-pressure entre etapas)
+    private void put(Ticket ticket) throws InterruptedException {
+        if (queued.add(ticket.orderId())) {
+            try {
+                queue.put(ticket);
+            } catch (InterruptedException e) {
+                queued.remove(ticket.orderId());
+                throw e;
+            }
+        }
+    }
+
+    void markForSweep() {
+        needsSweep.set(true);
+    }
+
+    boolean takeSweep() {
+        return needsSweep.getAndSet(false);
+    }
+
+    int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    // Pedidos aceitos e ainda não transicionados (na fila ou no lote em andamento)
+    int tracked() {
+        return queued.size();
+    }
+
+    void closeUpstream() {
+        upstreamClosed = true;
+    }
+
+    boolean awaitTermination(Duration timeout) throws InterruptedException {
+        return worker.join(timeout);
+    }
+
+    void interrupt() {
+        worker.interrupt();
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        try {
+            while (!(upstreamClosed && queue.isEmpty())) {
+                Ticket first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                process(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            LOG.warnf("Etapa %s interrompida com %d pedidos na fila", name, queue.size() + batch.size());
+            Thread.currentThread().interrupt();
+        } finally {
+            if (next != null) {
+                next.closeUpstream();
+            }
+        }
+    }
+
+    // Completa o lote com o que já está na fila e, se faltar, espera até linger por mais pedidos
+    private void fill(List<Ticket> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || upstreamClosed) {
+                return;
+            }
+            Ticket ticket = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (ticket == null) {
+                return;
+            }
+            batch.add(ticket);
+        }
+    }
+
+    private void process(List<Ticket> batch) throws InterruptedException {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Ticket ticket : batch) {
+            ids.add(ticket.orderId());
+            queued.remove(ticket.orderId());
+        }
+        long start = System.nanoTime();
+        List<Long> changed;
+        try {
+            changed = transition.apply(ids);
+        } catch (RuntimeException e) {
+            retry(batch, e);
+            return;
+        }
+        long end = System.nanoTime();
+        batchTime.record(end - start, TimeUnit.NANOSECONDS);
+        for (Ticket ticket : batch) {
+            latency.record(end - ticket.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        moved.increment(changed.size());
+        skipped.increment(batch.size() - changed.size());
+        if (next != null) {
+            for (long orderId : changed) {
+                // Bloqueia enquanto a próxima etapa está cheia (back-pressure até a entrada do pipeline)
+                next.put(new Ticket(orderId));
+            }
+        }
+    }
+
+    private void retry(List<Ticket> batch, RuntimeException error) {
+        int requeued = 0;
+        for (Ticket ticket : batch) {
+            if (ticket.attempts() < MAX_ATTEMPTS
+                    && offer(new Ticket(ticket.orderId(), ticket.enqueuedAt(), ticket.attempts() + 1))) {
+                requeued++;
+            } else {
+                failed.increment();
+            }
+        }
+        LOG.errorf(error, "Falha na etapa %s com um lote de %d pedidos (%d voltaram para a fila)", name, batch.size(), requeued);
+    }
+}
@@ -1,5 +1,7 @@
 package entrega.models;
 //Cliente
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -9,7 +11,10 @@ import jakarta.validation.constraints.Size;
 import java.util.List;
 
 @Entity
-@Table(name = "customers")
+// E-mails que só diferem em maiúsculas ou espaços são o mesmo cliente: a unicidade vale para o e-mail normalizado
+@Table(name = "customers", indexes = @Index(name = "idx_customers_email_normalized", columnList = "email_normalized", unique = true))
+@Cacheable
+@EntityListeners(NormalizedColumnsListener.class)
 public class Customer extends PanacheEntity {
     
     @NotBlank(message = "Nome é obrigatório")
@@ -22,10 +27,19 @@ public class Customer extends PanacheEntity {
     @Column(nullable = false, unique = true)
     public String email;
 
+    // E-mail canônico (único) para as buscas e o cadastro, mantido pelo NormalizedColumnsListener
+    @JsonIgnore
+    @Column(name = "email_normalized")
+    public String emailNormalized;
+
     @OneToOne(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     public Profile profile;
 
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     public List<Order> orders;
 
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Long version;
+
 }
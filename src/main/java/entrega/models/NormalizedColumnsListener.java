@@ -0,0 +1,23 @@
+package entrega.models;
+
+import entrega.search.TextNormalizer;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+// Preenche as colunas normalizadas de Customer e Profile a cada gravação, a partir dos campos originais.
+// As buscas comparam com essas colunas indexadas em vez de aplicar LOWER(...) na coluna original.
+public class NormalizedColumnsListener {
+
+    @PrePersist
+    @PreUpdate
+    void normalize(Object entity) {
+        if (entity instanceof Customer customer) {
+            customer.emailNormalized = TextNormalizer.email(customer.email);
+        } else if (entity instanceof Profile profile) {
+            profile.cityNormalized = TextNormalizer.city(profile.city);
+            profile.stateNormalized = TextNormalizer.state(profile.state);
+            profile.phoneDigits = TextNormalizer.digits(profile.phone);
+            profile.zipCodeDigits = TextNormalizer.digits(profile.zipCode);
+        }
+    }
+}
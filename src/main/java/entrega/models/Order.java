@@ -1,16 +1,25 @@
 package entrega.models;
 
 import entrega.models.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_id", columnList = "customer_id"),
+        // Também atende filtros só por status (prefixo do índice)
+        @Index(name = "idx_orders_status_date", columnList = "status, order_date"),
+        @Index(name = "idx_orders_order_date", columnList = "order_date")
+})
 public class Order extends PanacheEntity {
 
     @NotNull(message = "Cliente é obrigatório")
@@ -28,11 +37,12 @@ public class Order extends PanacheEntity {
     @Column(name = "total_amount", precision = 10, scale = 2)
     public BigDecimal totalAmount = BigDecimal.ZERO;
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(
-            name = "order_product",
-            joinColumns = @JoinColumn(name = "order_id"),
-            inverseJoinColumns = @JoinColumn(name = "product_id")
-    )
-    public List<Product> products;
+    @Valid
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    public List<OrderItem> items;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Long version;
 }
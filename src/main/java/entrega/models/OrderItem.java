@@ -0,0 +1,45 @@
+package entrega.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+// Item do pedido: quantidade e preço unitário capturado no momento da compra
+@Entity
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_order_product", columnList = "order_id, product_id"),
+        @Index(name = "idx_order_items_product_id", columnList = "product_id")
+})
+@Cacheable
+public class OrderItem extends PanacheEntity {
+
+    // Limite por item: somas de quantidades (int) não estouram
+    public static final int MAX_QUANTITY = 1_000_000;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    public Order order;
+
+    @NotNull(message = "Produto é obrigatório")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    public Product product;
+
+    @Min(value = 1, message = "Quantidade deve ser maior que zero")
+    @Max(value = MAX_QUANTITY, message = "Quantidade deve ser no máximo " + MAX_QUANTITY)
+    @Column(nullable = false)
+    public int quantity = 1;
+
+    @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
+    public BigDecimal unitPrice;
+
+    public BigDecimal subtotal() {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
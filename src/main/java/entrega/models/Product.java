@@ -1,5 +1,6 @@
 package entrega.models;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
@@ -7,10 +8,11 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
-import java.util.List;
 
 @Entity
-@Table(name = "products")
+// O nome é a chave natural da importação (upsert pelo nome): importações simultâneas não duplicam produtos
+@Table(name = "products", indexes = @Index(name = "idx_products_name", columnList = "name", unique = true))
+@Cacheable
 public class Product extends PanacheEntity {
 
     @NotBlank(message = "Nome do produto é obrigatório")
@@ -26,7 +28,8 @@ public class Product extends PanacheEntity {
     @Size(max = 500, message = "Descrição deve ter no máximo 500 caracteres")
     public String description;
 
-    @ManyToMany(mappedBy = "products", fetch = FetchType.LAZY)
-    public List<Order> orders;
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Long version;
 
 }
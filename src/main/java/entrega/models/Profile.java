@@ -1,5 +1,7 @@
 package entrega.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -7,7 +9,14 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "profiles")
+@Table(name = "profiles", indexes = {
+        @Index(name = "idx_profiles_city_normalized", columnList = "city_normalized"),
+        @Index(name = "idx_profiles_state_normalized", columnList = "state_normalized"),
+        @Index(name = "idx_profiles_phone_digits", columnList = "phone_digits"),
+        @Index(name = "idx_profiles_zip_code_digits", columnList = "zip_code_digits")
+})
+@Cacheable
+@EntityListeners(NormalizedColumnsListener.class)
 public class Profile extends PanacheEntity {
 
     @NotBlank(message = "Endereço é obrigatório")
@@ -28,10 +37,32 @@ public class Profile extends PanacheEntity {
     public String state;
     
     @Pattern(regexp = "^\\d{5}-?\\d{3}$", message = "CEP deve ter formato válido: XXXXX-XXX")
+    @Column(name = "zip_code")
     public String zipCode;
 
+    // Colunas de busca mantidas pelo NormalizedColumnsListener a partir dos campos acima
+    @JsonIgnore
+    @Column(name = "city_normalized", length = 100)
+    public String cityNormalized;
+
+    @JsonIgnore
+    @Column(name = "state_normalized", length = 2)
+    public String stateNormalized;
+
+    @JsonIgnore
+    @Column(name = "phone_digits", length = 20)
+    public String phoneDigits;
+
+    @JsonIgnore
+    @Column(name = "zip_code_digits", length = 8)
+    public String zipCodeDigits;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     public Customer customer;
 
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Long version;
+
 }
@@ -0,0 +1,41 @@
+package entrega.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Function;
+
+// Entradas em memória de cada região do cache de segundo nível e do cache de consultas. Acertos, faltas e
+// puts por região já saem nas métricas do Hibernate (hibernate_second_level_cache_*); as regiões Caffeine
+// não contam remoções, então uma região no limite (object-count) com puts crescendo indica remoções por tamanho.
+@ApplicationScoped
+public class CacheRegionMetrics implements MeterBinder {
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = sessionFactory.getStatistics();
+        CacheImplementor cache = sessionFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            Function<Statistics, CacheRegionStatistics> regionStatistics =
+                    cache.getRegion(region) instanceof QueryResultsRegion
+                            ? stats -> stats.getQueryRegionStatistics(region)
+                            : stats -> stats.getDomainDataRegionStatistics(region);
+            Gauge.builder("api.cache.entries", statistics, stats -> regionStatistics.apply(stats).getElementCountInMemory())
+                    .tag("region", region)
+                    .description("Entradas em memória na região do cache de segundo nível")
+                    .register(registry);
+        }
+    }
+}
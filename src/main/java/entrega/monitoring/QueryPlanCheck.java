@@ -0,0 +1,142 @@
+package entrega.monitoring;
+
+import entrega.models.enums.OrderStatus;
+import entrega.repositories.CustomerRepository;
+import entrega.repositories.OrderItemRepository;
+import entrega.repositories.OrderRepository;
+import entrega.repositories.ProfileRepository;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Confere na inicialização, pelo EXPLAIN do banco, que as consultas dos repositórios usam os índices criados
+// pelas migrações. Cada consulta roda uma vez (com valores que não existem) para capturar o SQL gerado pelo
+// Hibernate, e o plano desse SQL precisa citar o índice esperado. Habilitado com api.storage.query-plan-check.
+@ApplicationScoped
+public class QueryPlanCheck {
+
+    private static final Logger LOG = Logger.getLogger(QueryPlanCheck.class);
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    OrderRepository orderRepository;
+
+    @Inject
+    OrderItemRepository orderItemRepository;
+
+    @Inject
+    ProfileRepository profileRepository;
+
+    @Inject
+    EntityManager entityManager;
+
+    @ConfigProperty(name = "api.storage.query-plan-check", defaultValue = "false")
+    boolean enabled;
+
+    private volatile List<String> problems = List.of();
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<String> found = verify();
+        problems = found;
+        if (found.isEmpty()) {
+            LOG.info("Planos de consulta verificados: as consultas usam os índices esperados");
+        } else {
+            found.forEach(LOG::warn);
+        }
+    }
+
+    // Consultas que não usaram o índice esperado na última verificação
+    public List<String> problems() {
+        return problems;
+    }
+
+    List<String> verify() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> found = new ArrayList<>();
+        check(found, "OrderRepository.findByCustomerId", "idx_orders_customer_id",
+                () -> orderRepository.findByCustomerId(-1L));
+        check(found, "OrderRepository.findDTOsByCustomerId", "idx_orders_customer_id",
+                () -> orderRepository.findDTOsByCustomerId(-1L));
+        check(found, "OrderRepository.findByStatus", "idx_orders_status_date",
+                () -> orderRepository.findByStatus(OrderStatus.NEW));
+        check(found, "OrderRepository.findDTOsByStatus", "idx_orders_status_date",
+                () -> orderRepository.findDTOsByStatus(OrderStatus.NEW));
+        check(found, "OrderRepository.findIdsByStatus", "idx_orders_status_date",
+                () -> orderRepository.findIdsByStatus(OrderStatus.NEW, 1));
+        check(found, "OrderRepository.findByDateRange", "idx_orders_order_date",
+                () -> orderRepository.findByDateRange(now, now));
+        check(found, "OrderRepository.findDTOsByDateRange", "idx_orders_order_date",
+                () -> orderRepository.findDTOsByDateRange(now, now));
+        check(found, "OrderRepository.countSince", "idx_orders_order_date",
+                () -> orderRepository.countSince(now));
+        check(found, "OrderItemRepository.findByOrderAndProduct", "idx_order_items_order_product",
+                () -> orderItemRepository.findByOrderAndProduct(-1L, -1L));
+        check(found, "ProfileRepository.findByCustomerId", "uk_profiles_customer_id",
+                () -> profileRepository.findByCustomerId(-1L));
+        check(found, "ProfileRepository.findByCity", "idx_profiles_city_normalized",
+                () -> profileRepository.findByCity("-"));
+        check(found, "ProfileRepository.findByState", "idx_profiles_state_normalized",
+                () -> profileRepository.findByState("-"));
+        check(found, "CustomerRepository.findByEmail", "idx_customers_email_normalized",
+                () -> customerRepository.findByEmail("-"));
+        return found;
+    }
+
+    private void check(List<String> found, String query, String index, Runnable run) {
+        String sql = capture(run);
+        if (sql == null) {
+            found.add(query + ": nenhum SQL executado");
+            return;
+        }
+        String plan = explain(sql);
+        LOG.debugf("Plano de %s: %s", query, plan);
+        if (!plan.toLowerCase(Locale.ROOT).contains(index)) {
+            found.add(query + " não usa o índice " + index + ": " + plan);
+        }
+    }
+
+    // Executa a consulta em um contexto de requisição próprio e devolve o primeiro SQL que ela gerou
+    private static String capture(Runnable run) {
+        ManagedContext context = Arc.container().requestContext();
+        context.activate();
+        try {
+            QuarkusTransaction.requiringNew().run(run);
+            return SqlStatistics.current().firstStatement();
+        } finally {
+            context.terminate();
+        }
+    }
+
+    private String explain(String sql) {
+        return QuarkusTransaction.requiringNew().call(() -> entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString().strip();
+        }));
+    }
+}
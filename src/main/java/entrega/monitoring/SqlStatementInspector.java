@@ -0,0 +1,20 @@
+package entrega.monitoring;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Conta cada statement preparado pelo Hibernate na requisição atual; o SQL não é alterado
+@PersistenceUnitExtension
+@ApplicationScoped
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.recordStatement(sql);
+        }
+        return sql;
+    }
+}
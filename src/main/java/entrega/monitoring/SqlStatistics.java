@@ -0,0 +1,61 @@
+package entrega.monitoring;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import jakarta.enterprise.context.RequestScoped;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Statements SQL executados na requisição atual e o tempo gasto no banco.
+// Alimentado pelo SqlStatementInspector (texto de cada statement) e pelo SqlTimingListener (tempo JDBC).
+@RequestScoped
+public class SqlStatistics {
+
+    private int statements;
+    private long nanos;
+    // Na ordem da primeira execução
+    private final Map<String, Integer> executionsBySql = new LinkedHashMap<>();
+
+    // Instância da requisição atual, ou null fora de uma requisição (startup, tarefas em background)
+    static SqlStatistics current() {
+        ArcContainer container = Arc.container();
+        if (container == null || !container.requestContext().isActive()) {
+            return null;
+        }
+        return container.instance(SqlStatistics.class).get();
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void recordTime(long elapsedNanos) {
+        nanos += elapsedNanos;
+    }
+
+    public int statementCount() {
+        return statements;
+    }
+
+    public double timeMillis() {
+        return nanos / 1e6;
+    }
+
+    // Primeiro statement da requisição, ou null se nenhum foi executado
+    String firstStatement() {
+        return executionsBySql.isEmpty() ? null : executionsBySql.keySet().iterator().next();
+    }
+
+    // Statement repetido mais vezes na requisição (candidato a N+1)
+    Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> result = null;
+        for (Map.Entry<String, Integer> entry : executionsBySql.entrySet()) {
+            if (result == null || entry.getValue() > result.getValue()) {
+                result = entry;
+            }
+        }
+        return result;
+    }
+}
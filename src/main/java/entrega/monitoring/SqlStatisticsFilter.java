@@ -0,0 +1,80 @@
+package entrega.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Publica as estatísticas SQL de cada requisição: métricas por método do controller, log e,
+// em dev/test, os headers X-Sql-Count e X-Sql-Time-Ms. Alerta quando o mesmo SQL se repete (N+1).
+// Respostas em streaming (NDJSON) executam consultas depois do filtro e não entram na contagem.
+@Provider
+public class SqlStatisticsFilter implements ContainerResponseFilter {
+
+    public static final String COUNT_HEADER = "X-Sql-Count";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private static final Logger LOG = Logger.getLogger(SqlStatisticsFilter.class);
+
+    @Inject
+    SqlStatistics statistics;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @ConfigProperty(name = "api.sql-stats.headers", defaultValue = "false")
+    boolean headers;
+
+    @ConfigProperty(name = "api.sql-stats.n-plus-one-threshold", defaultValue = "10")
+    int nPlusOneThreshold;
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return;
+        }
+        int count = statistics.statementCount();
+        if (headers) {
+            response.getHeaders().putSingle(COUNT_HEADER, count);
+            response.getHeaders().putSingle(TIME_HEADER, String.format(Locale.ROOT, "%.3f", statistics.timeMillis()));
+        }
+        if (count == 0) {
+            return;
+        }
+
+        String resource = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        DistributionSummary.builder("api.sql.statements")
+                .tag("resource", resource)
+                .register(registry)
+                .record(count);
+        Timer.builder("api.sql.time")
+                .tag("resource", resource)
+                .register(registry)
+                .record((long) (statistics.timeMillis() * 1e6), TimeUnit.NANOSECONDS);
+        LOG.debugf("%s %s: %d statements SQL, %.3f ms no banco",
+                request.getMethod(), request.getUriInfo().getPath(), count, statistics.timeMillis());
+
+        Map.Entry<String, Integer> repeated = statistics.mostRepeated();
+        if (repeated.getValue() >= nPlusOneThreshold) {
+            LOG.warnf("Possível N+1 em %s: o mesmo SQL foi executado %d vezes na requisição: %s",
+                    resource, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
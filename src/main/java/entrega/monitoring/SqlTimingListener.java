@@ -0,0 +1,38 @@
+package entrega.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+// Tempo das execuções JDBC de cada sessão, somado às estatísticas da requisição.
+// Instanciado pelo Hibernate para cada sessão (hibernate.session.events.auto), fora do CDI.
+public class SqlTimingListener implements SessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        long elapsed = System.nanoTime() - startedAt;
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.recordTime(elapsed);
+        }
+    }
+}
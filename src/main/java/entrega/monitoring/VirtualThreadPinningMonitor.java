@@ -0,0 +1,127 @@
+package entrega.monitoring;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Detecta virtual threads fixadas na thread portadora (bloqueio dentro de synchronized ou código nativo),
+// lendo o evento jdk.VirtualThreadPinned do JFR. Cada ocorrência é registrada no log com o primeiro
+// método da aplicação na pilha, normalmente o método @Transactional do service que estava em execução.
+@ApplicationScoped
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger LOG = Logger.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String MARK_EVENT = "entrega.PinningMonitorMark";
+
+    // Marcador gravado no JFR por awaitDelivery: o stream entrega os eventos em ordem, então quando ele chega
+    // os eventos de fixação anteriores já foram contados
+    @Name(MARK_EVENT)
+    @Label("Marcador do monitor de virtual threads")
+    static final class Mark extends Event {
+        long id;
+    }
+
+    private final AtomicLong marks = new AtomicLong();
+    private final AtomicLong deliveredMark = new AtomicLong();
+
+    @ConfigProperty(name = "quarkus.virtual-threads.enabled", defaultValue = "true")
+    boolean virtualThreads;
+
+    @ConfigProperty(name = "api.virtual-threads.pinning-monitor.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "api.virtual-threads.pinning-threshold", defaultValue = "20ms")
+    Duration threshold;
+
+    private final LongAdder pinned = new LongAdder();
+
+    private volatile String lastLocation;
+
+    private RecordingStream stream;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!virtualThreads || !enabled) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.enable(Mark.class);
+        stream.onEvent(MARK_EVENT, mark -> deliveredMark.accumulateAndGet(mark.getLong("id"), Math::max));
+        stream.startAsync();
+        LOG.infof("Monitor de virtual threads fixadas ativo (limite de %d ms)", threshold.toMillis());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long pinnedCount() {
+        return pinned.sum();
+    }
+
+    public String lastLocation() {
+        return lastLocation;
+    }
+
+    // Espera o stream entregar os eventos gravados até agora; false se o monitor estiver desligado ou o tempo acabar
+    public boolean awaitDelivery(Duration timeout) throws InterruptedException {
+        if (stream == null) {
+            return false;
+        }
+        Mark mark = new Mark();
+        mark.id = marks.incrementAndGet();
+        mark.commit();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (deliveredMark.get() < mark.id) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        String location = applicationFrame(event.getStackTrace());
+        lastLocation = location;
+        LOG.warnf("Virtual thread fixada por %.1f ms em %s", event.getDuration().toNanos() / 1e6, location);
+    }
+
+    // Primeiro frame de código da aplicação; se a pilha foi truncada antes dele, o frame do topo
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "(pilha indisponível)";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith("entrega.")) {
+                return format(frame);
+            }
+        }
+        return format(stackTrace.getFrames().get(0));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -1,9 +1,50 @@
 package entrega.repositories;
 
+import entrega.dtos.CustomerDTO;
 import entrega.models.Customer;
+import entrega.search.TextNormalizer;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @ApplicationScoped
 public class CustomerRepository implements PanacheRepository<Customer> {
+
+    public KeysetPage<Customer> findPage(Long afterId, int limit) {
+        return KeysetPage.fetch(this, afterId, limit);
+    }
+
+    public Optional<EntityVersion> findVersion(Long id) {
+        return EntityVersion.find(this, Customer.class, id);
+    }
+
+    public List<CustomerDTO> findAllDTOs() {
+        return getEntityManager()
+                .createQuery("SELECT new entrega.dtos.CustomerDTO(c.id, c.name, c.email, c.version) "
+                        + "FROM Customer c ORDER BY c.id", CustomerDTO.class)
+                .getResultList();
+    }
+
+    // Pelo e-mail canônico (coluna indexada), sem diferenciar maiúsculas; resultado no cache de consultas,
+    // invalidado a cada escrita em customers
+    public Customer findByEmail(String email) {
+        return find("emailNormalized = ?1", TextNormalizer.email(email)).withHint(HibernateHints.HINT_CACHEABLE, true).firstResult();
+    }
+
+    // Quais dos ids informados existem, em uma única consulta
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(getEntityManager()
+                .createQuery("SELECT c.id FROM Customer c WHERE c.id IN :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
 }
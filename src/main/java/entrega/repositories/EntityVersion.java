@@ -0,0 +1,32 @@
+package entrega.repositories;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.persistence.EntityManager;
+
+import java.util.Optional;
+
+// Versão (@Version) de uma entidade, lida sem carregá-la, e a marca d'água das entidades relacionadas que
+// aparecem na sua representação (ex.: nomes do cliente e dos produtos em um pedido). Base das ETags.
+public record EntityVersion(long version, long related) {
+
+    public static EntityVersion of(long version) {
+        return new EntityVersion(version, 0);
+    }
+
+    static Optional<EntityVersion> find(PanacheRepository<?> repository, Class<?> entity, Long id) {
+        EntityManager em = repository.getEntityManager();
+        // Entidade já no cache de segundo nível: a versão sai dela, sem consultar o banco
+        if (em.getEntityManagerFactory().getCache().contains(entity, id)) {
+            Object cached = em.find(entity, id);
+            if (cached != null) {
+                return Optional.of(EntityVersion.of((Long) em.getEntityManagerFactory().getPersistenceUnitUtil().getVersion(cached)));
+            }
+        }
+        return em
+                .createQuery("SELECT e.version FROM " + entity.getSimpleName() + " e WHERE e.id = ?1", Long.class)
+                .setParameter(1, id)
+                .getResultStream()
+                .findFirst()
+                .map(EntityVersion::of);
+    }
+}
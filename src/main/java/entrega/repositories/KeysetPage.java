@@ -0,0 +1,46 @@
+package entrega.repositories;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Página de resultados obtida por keyset (id > ?) em vez de OFFSET
+public class KeysetPage<T> {
+
+    public final List<T> items;
+    public final Long nextAfter;
+
+    public KeysetPage(List<T> items, Long nextAfter) {
+        this.items = items;
+        this.nextAfter = nextAfter;
+    }
+
+    public boolean hasNext() {
+        return nextAfter != null;
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), nextAfter);
+    }
+
+    public static <T extends PanacheEntity> KeysetPage<T> fetch(PanacheRepository<T> repository, Long afterId, int limit) {
+        PanacheQuery<T> query = afterId == null
+                ? repository.findAll(Sort.by("id"))
+                : repository.find("id > ?1", Sort.by("id"), afterId);
+        // Busca uma linha a mais para saber se existe próxima página
+        List<T> rows = query.range(0, limit).list();
+        return of(rows, limit, entity -> entity.id);
+    }
+
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,38 @@
+package entrega.repositories;
+
+import entrega.models.OrderItem;
+import entrega.models.enums.OrderStatus;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.List;
+
+@ApplicationScoped
+public class OrderItemRepository implements PanacheRepository<OrderItem> {
+
+    public OrderItem findByOrderAndProduct(Long orderId, Long productId) {
+        return find("order.id = ?1 AND product.id = ?2", orderId, productId).firstResult();
+    }
+
+    public OrderItem findByOrderAndId(Long orderId, Long itemId) {
+        return find("order.id = ?1 AND id = ?2", orderId, itemId).firstResult();
+    }
+
+    public long deleteByOrderId(Long orderId) {
+        return delete("order.id = ?1", orderId);
+    }
+
+    public long deleteByCustomerId(Long customerId) {
+        return delete("order.id IN (SELECT o.id FROM Order o WHERE o.customer.id = ?1)", customerId);
+    }
+
+    // Unidades e receita por dia e produto dos pedidos não cancelados: [dia, productId, quantidade, subtotal]
+    public List<Object[]> sumByDayAndProduct() {
+        return getEntityManager()
+                .createQuery("SELECT CAST(o.orderDate AS LocalDate), i.product.id, SUM(i.quantity), SUM(i.unitPrice * i.quantity) "
+                        + "FROM OrderItem i JOIN i.order o WHERE o.status <> ?1 "
+                        + "GROUP BY CAST(o.orderDate AS LocalDate), i.product.id", Object[].class)
+                .setParameter(1, OrderStatus.CANCELLED)
+                .getResultList();
+    }
+}
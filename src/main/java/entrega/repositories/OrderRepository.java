@@ -1,24 +1,228 @@
 package entrega.repositories;
 
+import entrega.dtos.OrderDTO;
+import entrega.dtos.OrderItemDTO;
 import entrega.models.Order;
 import entrega.models.enums.OrderStatus;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class OrderRepository implements PanacheRepository<Order> {
-    
+
+    // Projeção das linhas de pedido já com o cliente (um único SELECT com JOIN)
+    private static final String ORDER_PROJECTION =
+            "SELECT o.id, c.id, c.name, o.status, o.orderDate, o.totalAmount, o.version FROM Order o JOIN o.customer c ";
+
+    private static final String ITEM_PROJECTION =
+            "SELECT i.order.id, i.id, p.id, p.name, i.quantity, i.unitPrice FROM OrderItem i JOIN i.product p "
+                    + "WHERE i.order.id IN :orderIds ORDER BY i.order.id, i.id";
+
+    // Limite de parâmetros por cláusula IN ao carregar os itens
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    public KeysetPage<Order> findPage(Long afterId, int limit) {
+        return KeysetPage.fetch(this, afterId, limit);
+    }
+
     public List<Order> findByCustomerId(Long customerId) {
         return find("customer.id = ?1", customerId).list();
     }
-    
+
     public List<Order> findByStatus(OrderStatus status) {
         return find("status = ?1", status).list();
     }
-    
+
     public List<Order> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return find("orderDate BETWEEN ?1 AND ?2", startDate, endDate).list();
     }
-}
\ No newline at end of file
+
+    // Versão do pedido e soma das versões do cliente e dos produtos dos itens. Versões só crescem e a troca
+    // de itens já incrementa a versão do pedido, então qualquer mudança no OrderDTO muda o par.
+    public Optional<EntityVersion> findVersion(Long id) {
+        return getEntityManager()
+                .createQuery("SELECT o.version, c.version + COALESCE(SUM(p.version), 0) FROM Order o JOIN o.customer c "
+                        + "LEFT JOIN o.items i LEFT JOIN i.product p WHERE o.id = ?1 GROUP BY o.id, o.version, c.version",
+                        Object[].class)
+                .setParameter(1, id)
+                .getResultStream()
+                .findFirst()
+                .map(row -> new EntityVersion((Long) row[0], ((Number) row[1]).longValue()));
+    }
+
+    // Incrementa a versão e soma ao total só se o pedido ainda estiver na versão lida, sem carregá-lo.
+    // Zero linhas alteradas quer dizer que outra transação gravou o pedido antes (conflito otimista).
+    public int incrementVersionAndTotal(Long id, Long expectedVersion, BigDecimal amount) {
+        return update("version = version + 1, totalAmount = totalAmount + ?1 WHERE id = ?2 AND version = ?3",
+                amount, id, expectedVersion);
+    }
+
+    // Transições de status em lote (pipeline de atendimento): o incremento da versão bloqueia as linhas que
+    // ainda estão no status de origem até o commit, e só essas são lidas e alteradas em seguida
+    public int incrementVersionInStatus(Collection<Long> ids, OrderStatus status) {
+        return update("version = version + 1 WHERE id IN ?1 AND status = ?2", ids, status);
+    }
+
+    public int updateStatus(Collection<Long> ids, OrderStatus status) {
+        return update("status = ?1 WHERE id IN ?2", status, ids);
+    }
+
+    public List<Long> findIdsByStatus(OrderStatus status, int limit) {
+        return getEntityManager()
+                .createQuery("SELECT o.id FROM Order o WHERE o.status = ?1 ORDER BY o.id", Long.class)
+                .setParameter(1, status)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Quantidade e soma dos totais por status: [status, count, sum]
+    public List<Object[]> countAndSumByStatus() {
+        return getEntityManager()
+                .createQuery("SELECT o.status, COUNT(o), COALESCE(SUM(o.totalAmount), 0) FROM Order o GROUP BY o.status",
+                        Object[].class)
+                .getResultList();
+    }
+
+    public long countSince(LocalDateTime start) {
+        return count("orderDate >= ?1", start);
+    }
+
+    // Pedidos não cancelados por dia: [dia, count, sum]
+    public List<Object[]> countAndSumByDay() {
+        return getEntityManager()
+                .createQuery("SELECT CAST(o.orderDate AS LocalDate), COUNT(o), COALESCE(SUM(o.totalAmount), 0) FROM Order o "
+                        + "WHERE o.status <> ?1 GROUP BY CAST(o.orderDate AS LocalDate)", Object[].class)
+                .setParameter(1, OrderStatus.CANCELLED)
+                .getResultList();
+    }
+
+    public Optional<OrderDTO> findDTOById(Long id) {
+        return queryDTOs("WHERE o.id = ?1", 1, id).stream().findFirst();
+    }
+
+    public KeysetPage<OrderDTO> findDTOPage(Long afterId, int limit) {
+        // Busca uma linha a mais para saber se existe próxima página
+        List<OrderDTO> rows = afterId == null
+                ? queryDTOs("", limit + 1)
+                : queryDTOs("WHERE o.id > ?1", limit + 1, afterId);
+        return KeysetPage.of(rows, limit, dto -> dto.id);
+    }
+
+    public List<OrderDTO> findDTOsByCustomerId(Long customerId) {
+        return queryDTOs("WHERE c.id = ?1", 0, customerId);
+    }
+
+    public List<OrderDTO> findDTOsByStatus(OrderStatus status) {
+        return queryDTOs("WHERE o.status = ?1", 0, status);
+    }
+
+    public List<OrderDTO> findDTOsByIdsAndStatus(Collection<Long> ids, OrderStatus status) {
+        return queryDTOs("WHERE o.id IN ?1 AND o.status = ?2", 0, ids, status);
+    }
+
+    public List<OrderDTO> findDTOsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return queryDTOs("WHERE o.orderDate BETWEEN ?1 AND ?2", 0, startDate, endDate);
+    }
+
+    // Percorre os pedidos com cursor; os itens são carregados em blocos de fetchSize pedidos
+    public void streamDTOs(OrderStatus status, int fetchSize, Consumer<OrderDTO> sink) {
+        TypedQuery<Object[]> query = status == null
+                ? orderQuery("", 0)
+                : orderQuery("WHERE o.status = ?1", 0, status);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        List<OrderDTO> chunk = new ArrayList<>(fetchSize);
+        try (Stream<Object[]> rows = query.getResultStream()) {
+            rows.forEach(row -> {
+                chunk.add(toDTO(row));
+                if (chunk.size() == fetchSize) {
+                    emit(chunk, sink);
+                }
+            });
+        }
+        emit(chunk, sink);
+    }
+
+    private void emit(List<OrderDTO> chunk, Consumer<OrderDTO> sink) {
+        attachItems(chunk);
+        chunk.forEach(sink);
+        chunk.clear();
+    }
+
+    private List<OrderDTO> queryDTOs(String where, int maxResults, Object... params) {
+        List<OrderDTO> orders = new ArrayList<>();
+        for (Object[] row : orderQuery(where, maxResults, params).getResultList()) {
+            orders.add(toDTO(row));
+        }
+        attachItems(orders);
+        return orders;
+    }
+
+    private TypedQuery<Object[]> orderQuery(String where, int maxResults, Object... params) {
+        TypedQuery<Object[]> query = getEntityManager()
+                .createQuery(ORDER_PROJECTION + where + " ORDER BY o.id", Object[].class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        if (maxResults > 0) {
+            query.setMaxResults(maxResults);
+        }
+        return query;
+    }
+
+    // Mapeamento das linhas projetadas (package-private para os benchmarks)
+    static OrderDTO toDTO(Object[] row) {
+        return new OrderDTO(
+                (Long) row[0],
+                (Long) row[1],
+                (String) row[2],
+                (OrderStatus) row[3],
+                (LocalDateTime) row[4],
+                (BigDecimal) row[5],
+                new ArrayList<>(),
+                (Long) row[6]
+        );
+    }
+
+    // Carrega os itens de todos os pedidos com IN (...) em vez de uma consulta por pedido
+    private void attachItems(List<OrderDTO> orders) {
+        Map<Long, OrderDTO> ordersById = new HashMap<>();
+        for (OrderDTO order : orders) {
+            ordersById.put(order.id, order);
+        }
+        List<Long> orderIds = new ArrayList<>(ordersById.keySet());
+        for (int from = 0; from < orderIds.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + IN_CHUNK_SIZE, orderIds.size()));
+            List<Object[]> rows = getEntityManager()
+                    .createQuery(ITEM_PROJECTION, Object[].class)
+                    .setParameter("orderIds", chunk)
+                    .getResultList();
+            for (Object[] row : rows) {
+                ordersById.get((Long) row[0]).items.add(toItemDTO(row));
+            }
+        }
+    }
+
+    static OrderItemDTO toItemDTO(Object[] row) {
+        return new OrderItemDTO(
+                (Long) row[1],
+                (Long) row[2],
+                (String) row[3],
+                (Integer) row[4],
+                (BigDecimal) row[5]
+        );
+    }
+}
@@ -1,13 +1,66 @@
 package entrega.repositories;
 
+import entrega.dtos.ProductDTO;
 import entrega.models.Product;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class ProductRepository implements PanacheRepository<Product> {
     
+    public KeysetPage<Product> findPage(Long afterId, int limit) {
+        return KeysetPage.fetch(this, afterId, limit);
+    }
+
+    public Optional<EntityVersion> findVersion(Long id) {
+        return EntityVersion.find(this, Product.class, id);
+    }
+
+    public List<ProductDTO> findAllDTOs() {
+        return getEntityManager()
+                .createQuery("SELECT new entrega.dtos.ProductDTO(p.id, p.name, p.price, p.description, p.version) "
+                        + "FROM Product p ORDER BY p.id", ProductDTO.class)
+                .getResultList();
+    }
+
+    public List<Product> findByIds(Collection<Long> ids) {
+        return list("id IN ?1", ids);
+    }
+
+    // Preço atual de cada produto informado, em uma única consulta; ids inexistentes ficam de fora
+    public Map<Long, BigDecimal> findPricesByIds(Collection<Long> ids) {
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        if (ids.isEmpty()) {
+            return prices;
+        }
+        for (Object[] row : getEntityManager()
+                .createQuery("SELECT p.id, p.price FROM Product p WHERE p.id IN :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()) {
+            prices.put((Long) row[0], (BigDecimal) row[1]);
+        }
+        return prices;
+    }
+
+    // Produtos com os nomes informados; havendo nomes repetidos na tabela, fica o de menor id
+    public Map<String, Product> findByNames(Collection<String> names) {
+        Map<String, Product> products = new HashMap<>();
+        for (Product product : list("name IN ?1", Sort.by("id"), names)) {
+            products.putIfAbsent(product.name, product);
+        }
+        return products;
+    }
+
     public List<Product> findByNameContaining(String name) {
         return find("LOWER(name) LIKE LOWER(?1)", "%" + name + "%").list();
     }
@@ -15,4 +68,24 @@ public class ProductRepository implements PanacheRepository<Product> {
     public List<Product> findByPriceRange(java.math.BigDecimal minPrice, java.math.BigDecimal maxPrice) {
         return find("price BETWEEN ?1 AND ?2", minPrice, maxPrice).list();
     }
+
+    // Percorre o resultado com cursor, sem materializar a lista nem entidades gerenciadas
+    public void streamByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int fetchSize, Consumer<ProductDTO> sink) {
+        try (Stream<Object[]> rows = getEntityManager()
+                .createQuery("SELECT p.id, p.name, p.price, p.description, p.version FROM Product p "
+                        + "WHERE p.price BETWEEN ?1 AND ?2 ORDER BY p.id", Object[].class)
+                .setParameter(1, minPrice)
+                .setParameter(2, maxPrice)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            rows.forEach(row -> sink.accept(new ProductDTO(
+                    (Long) row[0],
+                    (String) row[1],
+                    (BigDecimal) row[2],
+                    (String) row[3],
+                    (Long) row[4]
+            )));
+        }
+    }
 }
\ No newline at end of file
@@ -1,22 +1,36 @@
 package entrega.repositories;
 
 import entrega.models.Profile;
+import entrega.search.TextNormalizer;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 import java.util.List;
+import java.util.Optional;
 
 @ApplicationScoped
 public class ProfileRepository implements PanacheRepository<Profile> {
     
+    public KeysetPage<Profile> findPage(Long afterId, int limit) {
+        return KeysetPage.fetch(this, afterId, limit);
+    }
+
+    public Optional<EntityVersion> findVersion(Long id) {
+        return EntityVersion.find(this, Profile.class, id);
+    }
+
+    // Consulta frequente (uma por cliente exibido): o resultado fica no cache de consultas, invalidado a
+    // cada escrita em profiles, e o perfil em si no cache de segundo nível
     public Profile findByCustomerId(Long customerId) {
-        return find("customer.id = ?1", customerId).firstResult();
+        return find("customer.id = ?1", customerId).withHint(HibernateHints.HINT_CACHEABLE, true).firstResult();
     }
     
+    // Comparação com as colunas normalizadas (indexadas): cidade sem acentos e sem diferenciar maiúsculas
     public List<Profile> findByCity(String city) {
-        return find("LOWER(city) = LOWER(?1)", city).list();
+        return find("cityNormalized = ?1", TextNormalizer.city(city)).list();
     }
     
     public List<Profile> findByState(String state) {
-        return find("LOWER(state) = LOWER(?1)", state).list();
+        return find("stateNormalized = ?1", TextNormalizer.state(state)).list();
     }
 }
@@ -0,0 +1,72 @@
+package entrega.search;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom de strings: mightContain nunca devolve false para um valor inserido, e devolve true para um
+// valor ausente com probabilidade próxima da taxa escolhida enquanto o filtro não passar da capacidade.
+// Não há remoção; quem usa reconstrói o filtro quando ele enche (isFull). Leituras não usam lock.
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private int insertions;
+
+    public BloomFilter(int capacity, double falsePositiveRate) {
+        this.capacity = Math.max(1, capacity);
+        // m = -n ln(p) / (ln 2)^2 e k = m/n ln 2
+        long m = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max(1, (m + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+    }
+
+    // Não é thread-safe para escritas concorrentes entre si (a contagem de inserções); leituras podem ocorrer junto
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        insertions++;
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Inserções além da capacidade aumentam a taxa de falsos positivos
+    public boolean isFull() {
+        return insertions >= capacity;
+    }
+
+    // FNV-1a de 64 bits sobre os chars, com mistura final (as duas metades viram h1 e h2 do hashing duplo)
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,111 @@
+package entrega.search;
+
+import entrega.dtos.CustomerDTO;
+import entrega.events.CustomerChangedEvent;
+import entrega.events.EventOrdering;
+import entrega.repositories.CustomerRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// E-mails dos clientes em memória (canônicos, TextNormalizer.email), para o cadastro e a busca por e-mail
+// saberem se um e-mail existe sem ir ao banco. O filtro de Bloom descarta de imediato os e-mails que certamente
+// não existem; o mapa exato confirma os demais e elimina os falsos positivos do filtro. Carregado na
+// inicialização e mantido pelos eventos do CustomerService (após o commit). A unicidade em si é garantida pelo
+// índice único de customers.email_normalized: cada e-mail do mapa pertence a um único cliente. Eventos atrasados
+// são descartados por EventOrdering, para que uma alteração entregue depois da exclusão não traga de volta o e-mail
+// de um cliente excluído (e recuse novos cadastros com ele).
+@ApplicationScoped
+public class CustomerEmailRegistry {
+
+    private static final Logger LOG = Logger.getLogger(CustomerEmailRegistry.class);
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @ConfigProperty(name = "api.customers.email-registry.expected-size", defaultValue = "100000")
+    int expectedSize;
+
+    @ConfigProperty(name = "api.customers.email-registry.false-positive-rate", defaultValue = "0.01")
+    double falsePositiveRate;
+
+    private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final Map<Long, String> emailsById = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    private final EventOrdering ordering = new EventOrdering();
+
+    void onStart(@Observes StartupEvent event) {
+        reload();
+    }
+
+    public synchronized void reload() {
+        List<CustomerDTO> customers = QuarkusTransaction.requiringNew().call(customerRepository::findAllDTOs);
+        idsByEmail.clear();
+        emailsById.clear();
+        ordering.reset();
+        for (CustomerDTO customer : customers) {
+            ordering.accept(customer.id, customer.version);
+            String email = TextNormalizer.email(customer.email);
+            idsByEmail.put(email, customer.id);
+            emailsById.put(customer.id, email);
+        }
+        rebuildFilter();
+        LOG.infof("Registro de e-mails de clientes carregado: %d e-mails", idsByEmail.size());
+    }
+
+    synchronized void onCustomerChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CustomerChangedEvent event) {
+        if (event.type == CustomerChangedEvent.Type.DELETED) {
+            ordering.delete(event.id);
+        } else if (!ordering.accept(event.id, event.customer.version)) {
+            return;
+        }
+        String previous = emailsById.remove(event.id);
+        if (previous != null) {
+            idsByEmail.remove(previous, event.id);
+        }
+        if (event.type != CustomerChangedEvent.Type.DELETED) {
+            String email = TextNormalizer.email(event.customer.email);
+            idsByEmail.put(email, event.id);
+            emailsById.put(event.id, email);
+            filter.put(email);
+            // Remoções deixam bits no filtro; ao atingir a capacidade ele é refeito só com os e-mails atuais
+            if (filter.isFull()) {
+                rebuildFilter();
+            }
+        }
+    }
+
+    // ID do cliente com o e-mail informado (comparado na forma canônica)
+    public Optional<Long> find(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        String canonical = TextNormalizer.email(email);
+        if (!filter.mightContain(canonical)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(idsByEmail.get(canonical));
+    }
+
+    public boolean contains(String email) {
+        return find(email).isPresent();
+    }
+
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedSize, idsByEmail.size() * 2), falsePositiveRate);
+        idsByEmail.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,58 @@
+package entrega.search;
+
+import entrega.dtos.CustomerDTO;
+import entrega.events.EventOrdering;
+import entrega.events.CustomerChangedEvent;
+import entrega.repositories.CustomerRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+// Índice de trigramas dos nomes de clientes, mantido pelos eventos do CustomerService
+// (eventos atrasados descartados por EventOrdering)
+@ApplicationScoped
+public class CustomerNameIndex {
+
+    private static final Logger LOG = Logger.getLogger(CustomerNameIndex.class);
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    private final TrigramIndex<CustomerDTO> index = new TrigramIndex<>();
+
+    private final EventOrdering ordering = new EventOrdering();
+
+    void onStart(@Observes StartupEvent event) {
+        reload();
+    }
+
+    public synchronized void reload() {
+        List<CustomerDTO> customers = QuarkusTransaction.requiringNew().call(customerRepository::findAllDTOs);
+        index.clear();
+        ordering.reset();
+        for (CustomerDTO customer : customers) {
+            ordering.accept(customer.id, customer.version);
+            index.put(customer.id, customer.name, customer);
+        }
+        LOG.infof("Índice de nomes de clientes carregado: %d clientes", index.size());
+    }
+
+    synchronized void onCustomerChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CustomerChangedEvent event) {
+        if (event.type == CustomerChangedEvent.Type.DELETED) {
+            ordering.delete(event.id);
+            index.remove(event.id);
+        } else if (ordering.accept(event.id, event.customer.version)) {
+            index.put(event.id, event.customer.name, event.customer);
+        }
+    }
+
+    public List<CustomerDTO> search(String name) {
+        return index.search(name);
+    }
+}
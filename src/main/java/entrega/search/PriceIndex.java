@@ -0,0 +1,217 @@
+package entrega.search;
+
+import entrega.dtos.ProductDTO;
+import entrega.events.EventOrdering;
+import entrega.events.ProductChangedEvent;
+import entrega.events.ProductsImportedEvent;
+import entrega.repositories.ProductRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Índice de preços em memória: long[] de preços em centavos ordenado, com long[] de ids em paralelo.
+// Uma faixa de preço vira duas buscas binárias; cada alteração gera novos arrays (copy-on-write). Eventos
+// atrasados são descartados por EventOrdering.
+@ApplicationScoped
+public class PriceIndex {
+
+    private static final Logger LOG = Logger.getLogger(PriceIndex.class);
+
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    @Inject
+    ProductRepository productRepository;
+
+    private volatile Entries entries = new Entries(new long[0], new long[0]);
+
+    // Preço atual de cada produto, usado para localizar a entrada antiga numa atualização
+    private final Map<Long, Long> centsById = new HashMap<>();
+
+    private final EventOrdering ordering = new EventOrdering();
+
+    void onStart(@Observes StartupEvent event) {
+        reload();
+    }
+
+    public synchronized void reload() {
+        List<ProductDTO> products = QuarkusTransaction.requiringNew().call(productRepository::findAllDTOs);
+        centsById.clear();
+        ordering.reset();
+        for (ProductDTO product : products) {
+            ordering.accept(product.id, product.version);
+            centsById.put(product.id, toCents(product.price, RoundingMode.HALF_UP));
+        }
+        rebuild();
+        LOG.infof("Índice de preços carregado: %d produtos", centsById.size());
+    }
+
+    synchronized void onProductChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+        if (event.type == ProductChangedEvent.Type.DELETED) {
+            ordering.delete(event.id);
+        } else if (!ordering.accept(event.id, event.product.version)) {
+            return;
+        }
+        Entries current = entries;
+        Long previous = centsById.remove(event.id);
+        if (previous != null) {
+            current = current.without(previous, event.id);
+        }
+        if (event.type != ProductChangedEvent.Type.DELETED) {
+            long cents = toCents(event.product.price, RoundingMode.HALF_UP);
+            centsById.put(event.id, cents);
+            current = current.with(cents, event.id);
+        }
+        entries = current;
+    }
+
+    // Um bloco da importação: os preços são trocados no mapa e os arrays refeitos uma única vez
+    synchronized void onProductsImported(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductsImportedEvent event) {
+        for (ProductChangedEvent change : event.changes) {
+            if (change.type == ProductChangedEvent.Type.DELETED) {
+                ordering.delete(change.id);
+                centsById.remove(change.id);
+            } else if (ordering.accept(change.id, change.product.version)) {
+                centsById.put(change.id, toCents(change.product.price, RoundingMode.HALF_UP));
+            }
+        }
+        rebuild();
+    }
+
+    // Ids dos produtos com preço entre minPrice e maxPrice (inclusive), ordenados por preço
+    public long[] findIds(BigDecimal minPrice, BigDecimal maxPrice, int limit, boolean descending) {
+        Entries snapshot = entries;
+        int from = snapshot.lowerBound(boundCents(minPrice, RoundingMode.CEILING));
+        int to = snapshot.upperBound(boundCents(maxPrice, RoundingMode.FLOOR));
+        int count = Math.max(0, Math.min(to - from, limit));
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = descending ? snapshot.ids[to - 1 - i] : snapshot.ids[from + i];
+        }
+        return result;
+    }
+
+    // Arrays ordenados por preço (e id) a partir de centsById
+    private void rebuild() {
+        long[][] pairs = new long[centsById.size()][];
+        int i = 0;
+        for (Map.Entry<Long, Long> entry : centsById.entrySet()) {
+            pairs[i++] = new long[] {entry.getValue(), entry.getKey()};
+        }
+        Arrays.sort(pairs, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        long[] cents = new long[pairs.length];
+        long[] ids = new long[pairs.length];
+        for (i = 0; i < pairs.length; i++) {
+            cents[i] = pairs[i][0];
+            ids[i] = pairs[i][1];
+        }
+        entries = new Entries(cents, ids);
+    }
+
+    private static long toCents(BigDecimal price, RoundingMode rounding) {
+        return price.setScale(2, rounding).movePointRight(2).longValueExact();
+    }
+
+    // Limite de consulta vindo da URL: fora do intervalo de long fica preso nas pontas em vez de estourar
+    private static long boundCents(BigDecimal price, RoundingMode rounding) {
+        BigDecimal cents = price.movePointRight(2);
+        if (cents.compareTo(MAX_CENTS) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (cents.compareTo(MIN_CENTS) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        if (cents.abs().compareTo(BigDecimal.ONE) < 0) {
+            // Frações de centavo arredondam como ±0,1 (evita setScale com escalas enormes, como 1E-999999999)
+            cents = BigDecimal.valueOf(cents.signum(), 1);
+        }
+        return cents.setScale(0, rounding).longValueExact();
+    }
+
+    private static final class Entries {
+        final long[] cents;
+        final long[] ids;
+
+        Entries(long[] cents, long[] ids) {
+            this.cents = cents;
+            this.ids = ids;
+        }
+
+        // Primeira posição com preço >= value
+        int lowerBound(long value) {
+            int low = 0;
+            int high = cents.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cents[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Primeira posição com preço > value
+        int upperBound(long value) {
+            int low = 0;
+            int high = cents.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cents[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Posição de (preço, id) na ordem do índice; negativa (-(ponto de inserção) - 1) se ausente
+        int indexOf(long price, long id) {
+            int from = lowerBound(price);
+            int to = upperBound(price);
+            return Arrays.binarySearch(ids, from, to, id);
+        }
+
+        Entries with(long price, long id) {
+            int insertAt = -indexOf(price, id) - 1;
+            int size = ids.length;
+            long[] newCents = new long[size + 1];
+            long[] newIds = new long[size + 1];
+            System.arraycopy(cents, 0, newCents, 0, insertAt);
+            System.arraycopy(ids, 0, newIds, 0, insertAt);
+            newCents[insertAt] = price;
+            newIds[insertAt] = id;
+            System.arraycopy(cents, insertAt, newCents, insertAt + 1, size - insertAt);
+            System.arraycopy(ids, insertAt, newIds, insertAt + 1, size - insertAt);
+            return new Entries(newCents, newIds);
+        }
+
+        Entries without(long price, long id) {
+            int index = indexOf(price, id);
+            if (index < 0) {
+                return this;
+            }
+            int size = ids.length;
+            long[] newCents = new long[size - 1];
+            long[] newIds = new long[size - 1];
+            System.arraycopy(cents, 0, newCents, 0, index);
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(cents, index + 1, newCents, index, size - index - 1);
+            System.arraycopy(ids, index + 1, newIds, index, size - index - 1);
+            return new Entries(newCents, newIds);
+        }
+    }
+}
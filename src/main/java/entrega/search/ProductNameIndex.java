@@ -0,0 +1,63 @@
+package entrega.search;
+
+import entrega.dtos.ProductDTO;
+import entrega.events.EventOrdering;
+import entrega.events.ProductChangedEvent;
+import entrega.events.ProductsImportedEvent;
+import entrega.repositories.ProductRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+// Índice de trigramas dos nomes de produtos, mantido pelos eventos do ProductService
+// (eventos atrasados descartados por EventOrdering)
+@ApplicationScoped
+public class ProductNameIndex {
+
+    private static final Logger LOG = Logger.getLogger(ProductNameIndex.class);
+
+    @Inject
+    ProductRepository productRepository;
+
+    private final TrigramIndex<ProductDTO> index = new TrigramIndex<>();
+
+    private final EventOrdering ordering = new EventOrdering();
+
+    void onStart(@Observes StartupEvent event) {
+        reload();
+    }
+
+    public synchronized void reload() {
+        List<ProductDTO> products = QuarkusTransaction.requiringNew().call(productRepository::findAllDTOs);
+        index.clear();
+        ordering.reset();
+        for (ProductDTO product : products) {
+            ordering.accept(product.id, product.version);
+            index.put(product.id, product.name, product);
+        }
+        LOG.infof("Índice de nomes de produtos carregado: %d produtos", index.size());
+    }
+
+    synchronized void onProductChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+        if (event.type == ProductChangedEvent.Type.DELETED) {
+            ordering.delete(event.id);
+            index.remove(event.id);
+        } else if (ordering.accept(event.id, event.product.version)) {
+            index.put(event.id, event.product.name, event.product);
+        }
+    }
+
+    synchronized void onProductsImported(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductsImportedEvent event) {
+        event.changes.forEach(this::onProductChanged);
+    }
+
+    public List<ProductDTO> search(String name) {
+        return index.search(name);
+    }
+}
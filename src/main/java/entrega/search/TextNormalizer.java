@@ -0,0 +1,45 @@
+package entrega.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Normalização usada nas buscas: minúsculas e sem acentos ("Teclado Mecânico" -> "teclado mecanico")
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Colunas de busca persistidas (NormalizedColumnsListener); null permanece null
+
+    // Cidade: sem espaços nas pontas, minúsculas e sem acentos
+    public static String city(String city) {
+        return city == null ? null : normalize(city.strip());
+    }
+
+    // Estado: sigla em maiúsculas
+    public static String state(String state) {
+        return state == null ? null : state.strip().toUpperCase(Locale.ROOT);
+    }
+
+    // E-mail canônico: sem espaços nas pontas e em minúsculas
+    public static String email(String email) {
+        return email == null ? null : email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    // Telefone e CEP: somente os dígitos ("(11) 99999-9999" -> "11999999999")
+    public static String digits(String text) {
+        return text == null ? null : NON_DIGITS.matcher(text).replaceAll("");
+    }
+}
@@ -0,0 +1,199 @@
+package entrega.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido de trigramas para buscas "contém" (equivalente a LIKE '%x%') sem varrer a tabela.
+// Cada trigrama aponta para uma lista ordenada de ids (long[]); o texto é normalizado com TextNormalizer.
+public class TrigramIndex<V> {
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Entry<V>> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String text, V value) {
+        String normalized = TextNormalizer.normalize(text);
+        lock.writeLock().lock();
+        try {
+            Entry<V> previous = entries.put(id, new Entry<>(normalized, value));
+            if (previous != null) {
+                if (previous.text.equals(normalized)) {
+                    return;
+                }
+                removePostings(id, previous.text);
+            }
+            for (long trigram : trigrams(normalized)) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry<V> previous = entries.remove(id);
+            if (previous != null) {
+                removePostings(id, previous.text);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Valores cujo texto contém a consulta (sem diferenciar maiúsculas nem acentos), em ordem de id
+    public List<V> search(String query) {
+        String normalized = TextNormalizer.normalize(query).trim();
+        lock.readLock().lock();
+        try {
+            long[] candidates = normalized.length() < 3 ? allIds() : intersect(trigrams(normalized));
+            List<V> result = new ArrayList<>();
+            for (long id : candidates) {
+                Entry<V> entry = entries.get(id);
+                // Trigramas em comum não garantem a substring; confirma no texto normalizado
+                if (entry.text.contains(normalized)) {
+                    result.add(entry.value);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removePostings(long id, String text) {
+        for (long trigram : trigrams(text)) {
+            Postings list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private long[] allIds() {
+        long[] ids = new long[entries.size()];
+        int i = 0;
+        for (Long id : entries.keySet()) {
+            ids[i++] = id;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private long[] intersect(long[] trigrams) {
+        Postings[] lists = new Postings[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            lists[i] = postings.get(trigrams[i]);
+            if (lists[i] == null) {
+                return new long[0];
+            }
+        }
+        // Começa pela lista mais curta para reduzir o trabalho das interseções seguintes
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        long[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = result.length;
+        for (int l = 1; l < lists.length && size > 0; l++) {
+            long[] other = lists[l].ids;
+            int otherSize = lists[l].size;
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < size && j < otherSize) {
+                if (result[i] < other[j]) {
+                    i++;
+                } else if (result[i] > other[j]) {
+                    j++;
+                } else {
+                    result[k++] = result[i];
+                    i++;
+                    j++;
+                }
+            }
+            size = k;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // Trigramas distintos do texto, cada um empacotado em um long (3 chars de 16 bits)
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] keys = new long[text.length() - 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(keys);
+        int unique = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[unique++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, unique);
+    }
+
+    private static final class Entry<V> {
+        final String text;
+        final V value;
+
+        Entry(String text, V value) {
+            this.text = text;
+            this.value = value;
+        }
+    }
+
+    // Lista de ids ordenada, crescendo por duplicação
+    private static final class Postings {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -1,8 +1,22 @@
 package entrega.services;
 
+import entrega.dtos.CustomerDTO;
+import entrega.dtos.OrderDTO;
+import entrega.events.CustomerChangedEvent;
+import entrega.events.OrderChangedEvent;
+import entrega.exceptions.DuplicateEmailException;
+import entrega.exceptions.PreconditionFailedException;
 import entrega.models.Customer;
+import entrega.repositories.EntityVersion;
+import entrega.repositories.KeysetPage;
 import entrega.repositories.CustomerRepository;
+import entrega.repositories.OrderItemRepository;
+import entrega.repositories.OrderRepository;
+import entrega.search.CustomerEmailRegistry;
+import entrega.search.CustomerNameIndex;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
@@ -11,53 +25,114 @@ import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
+@Timed("api.service")
 public class CustomerService {
 
     @Inject
     CustomerRepository customerRepository;
 
+    @Inject
+    CustomerNameIndex customerNameIndex;
+
+    @Inject
+    CustomerEmailRegistry customerEmailRegistry;
+
+    @Inject
+    OrderRepository orderRepository;
+
+    @Inject
+    OrderItemRepository orderItemRepository;
+
+    @Inject
+    Event<CustomerChangedEvent> customerChanged;
+
+    @Inject
+    Event<OrderChangedEvent> orderChanged;
+
     public List<Customer> listAll() {
         return customerRepository.listAll();
     }
 
+    public KeysetPage<Customer> listPage(Long afterId, int limit) {
+        return customerRepository.findPage(afterId, limit);
+    }
+
     public Optional<Customer> findById(Long id) {
         return Optional.ofNullable(customerRepository.findById(id));
     }
 
+    public Optional<EntityVersion> findVersion(Long id) {
+        return customerRepository.findVersion(id);
+    }
+
+    // O registro em memória recusa de imediato os e-mails já conhecidos; quem garante a unicidade é o índice
+    // único do e-mail normalizado, que recusa (409) cadastros simultâneos que passaram juntos pelo registro
     @Transactional
     public Customer create(@Valid Customer customer) {
+        if (customerEmailRegistry.contains(customer.email)) {
+            throw new DuplicateEmailException(customer.email);
+        }
         customerRepository.persist(customer);
+        // flush antecipado: a violação do índice único aparece aqui e não no commit
+        customerRepository.flush();
+        fireChanged(CustomerChangedEvent.Type.CREATED, customer);
         return customer;
     }
 
     @Transactional
-    public Optional<Customer> update(Long id, @Valid Customer customerData) {
+    public Optional<Customer> update(Long id, @Valid Customer customerData, Long expectedVersion) {
         Customer customer = customerRepository.findById(id);
         if (customer != null) {
+            PreconditionFailedException.checkVersion(expectedVersion, customer.version);
+            if (customerEmailRegistry.find(customerData.email).filter(owner -> !owner.equals(id)).isPresent()) {
+                throw new DuplicateEmailException(customerData.email);
+            }
             customer.name = customerData.name;
             customer.email = customerData.email;
-            customerRepository.persist(customer);
+            // flush antecipado para o evento e a resposta já levarem a nova versão
+            customerRepository.flush();
+            fireChanged(CustomerChangedEvent.Type.UPDATED, customer);
             return Optional.of(customer);
         }
         return Optional.empty();
     }
 
+    // Os pedidos do cliente saem junto (cascade) e cada um dispara seu OrderChangedEvent, como em
+    // OrderService.delete, para que contadores, agregados e feeds em memória não fiquem com pedidos inexistentes
     @Transactional
-    public boolean delete(Long id) {
+    public boolean delete(Long id, Long expectedVersion) {
         Customer customer = customerRepository.findById(id);
         if (customer != null) {
+            PreconditionFailedException.checkVersion(expectedVersion, customer.version);
+            List<OrderDTO> orders = orderRepository.findDTOsByCustomerId(id);
+            if (!orders.isEmpty()) {
+                orderItemRepository.deleteByCustomerId(id);
+            }
             customerRepository.delete(customer);
+            for (OrderDTO order : orders) {
+                orderChanged.fire(new OrderChangedEvent(OrderChangedEvent.Type.DELETED, order.id, order, null));
+            }
+            customerChanged.fire(new CustomerChangedEvent(CustomerChangedEvent.Type.DELETED, customer.id, null));
             return true;
         }
         return false;
     }
 
-    public List<Customer> findByNameContaining(String name) {
-        return customerRepository.find("LOWER(name) LIKE LOWER(?1)", "%" + name + "%").list();
+    public List<CustomerDTO> findByNameContaining(String name) {
+        return customerNameIndex.search(name);
     }
 
+    // E-mails desconhecidos são respondidos pelo registro em memória, sem consulta
     public Optional<Customer> findByEmail(String email) {
-        Customer customer = customerRepository.find("email = ?1", email).firstResult();
-        return Optional.ofNullable(customer);
+        return customerEmailRegistry.find(email).map(customerRepository::findById);
+    }
+
+    public boolean emailExists(String email) {
+        return customerEmailRegistry.contains(email);
+    }
+
+    private void fireChanged(CustomerChangedEvent.Type type, Customer customer) {
+        CustomerDTO dto = new CustomerDTO(customer.id, customer.name, customer.email, customer.version);
+        customerChanged.fire(new CustomerChangedEvent(type, customer.id, dto));
     }
 }
@@ -0,0 +1,70 @@
+package entrega.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.StaleStateException;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Executa uma alteração em transação própria e, se outra transação alterou a mesma entidade (@Version)
+// no meio do caminho, repete do zero até maxAttempts vezes, com espera exponencial e aleatória (jitter)
+// para que as requisições concorrentes não voltem a colidir juntas
+@ApplicationScoped
+public class OptimisticRetry {
+
+    private static final Logger LOG = Logger.getLogger(OptimisticRetry.class);
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "api.optimistic-retry.max-attempts", defaultValue = "10")
+    int maxAttempts;
+
+    @ConfigProperty(name = "api.optimistic-retry.backoff", defaultValue = "5ms")
+    Duration backoff;
+
+    @ConfigProperty(name = "api.optimistic-retry.max-backoff", defaultValue = "200ms")
+    Duration maxBackoff;
+
+    public <T> T call(String operation, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return QuarkusTransaction.requiringNew().call(work::get);
+            } catch (RuntimeException e) {
+                if (!isConflict(e) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                registry.counter("api.optimistic.retries", "operation", operation).increment();
+                LOG.debugf("Conflito de versão em %s (tentativa %d de %d)", operation, attempt, maxAttempts);
+                pause(attempt, e);
+            }
+        }
+    }
+
+    // O conflito chega embrulhado (ex.: RollbackException do commit dentro de QuarkusTransactionException)
+    public static boolean isConflict(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void pause(int attempt, RuntimeException conflict) {
+        long ceiling = Math.min(maxBackoff.toNanos(), backoff.toNanos() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
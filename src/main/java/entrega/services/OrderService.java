@@ -1,26 +1,62 @@
 package entrega.services;
 
+import entrega.dtos.OrderBatchResultDTO;
+import entrega.dtos.OrderDTO;
+import entrega.dtos.OrderItemDTO;
+import entrega.events.OrderChangedEvent;
+import entrega.exceptions.PreconditionFailedException;
+import entrega.models.Customer;
 import entrega.models.Order;
+import entrega.models.OrderItem;
 import entrega.models.Product;
 import entrega.models.enums.OrderStatus;
+import entrega.repositories.EntityVersion;
+import entrega.repositories.KeysetPage;
+import entrega.repositories.OrderItemRepository;
 import entrega.repositories.OrderRepository;
 import entrega.repositories.ProductRepository;
 import entrega.repositories.CustomerRepository;
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
+@Timed("api.service")
 public class OrderService {
 
+    private static final Logger LOG = Logger.getLogger(OrderService.class);
+
     @Inject
     OrderRepository orderRepository;
+
+    @Inject
+    OrderItemRepository orderItemRepository;
     
     @Inject
     ProductRepository productRepository;
@@ -28,93 +64,427 @@ public class OrderService {
     @Inject
     CustomerRepository customerRepository;
 
+    @Inject
+    OptimisticRetry optimisticRetry;
+
+    @Inject
+    Event<OrderChangedEvent> orderChanged;
+
+    @Inject
+    Validator validator;
+
+    @ConfigProperty(name = "api.orders.batch.max-size", defaultValue = "5000")
+    int batchMaxSize;
+
+    @ConfigProperty(name = "api.orders.batch.chunk-size", defaultValue = "500")
+    int batchChunkSize;
+
+    // Tamanho do bloco lido do cursor nas exportações NDJSON
+    private static final int STREAM_FETCH_SIZE = 500;
+
     public List<Order> listAll() {
         return orderRepository.listAll();
     }
 
-    public Optional<Order> findById(Long id) {
-        return Optional.ofNullable(orderRepository.findById(id));
+    public KeysetPage<OrderDTO> listPage(Long afterId, int limit) {
+        return orderRepository.findDTOPage(afterId, limit);
+    }
+
+    public Optional<OrderDTO> findById(Long id) {
+        return orderRepository.findDTOById(id);
+    }
+
+    public Optional<EntityVersion> findVersion(Long id) {
+        return orderRepository.findVersion(id);
     }
 
     @Transactional
-    public Order create(@Valid Order order) {
-        // Calcular total do pedido
-        if (order.products != null && !order.products.isEmpty()) {
-            BigDecimal total = order.products.stream()
-                    .map(product -> product.price)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            order.totalAmount = total;
+    public OrderDTO create(@Valid Order order) {
+        Customer customer = order.customer.id == null ? null : customerRepository.findById(order.customer.id);
+        if (customer == null) {
+            throw new IllegalArgumentException("Cliente não encontrado");
         }
-        
+        // O cliente do corpo só traz o id (sem versão); o pedido referencia a instância gerenciada
+        order.customer = customer;
+        List<OrderItem> items = order.items;
+        order.items = null;
         order.orderDate = LocalDateTime.now();
         order.status = OrderStatus.NEW;
+        order.totalAmount = BigDecimal.ZERO;
         orderRepository.persist(order);
-        return order;
+        addItems(order, items);
+        OrderDTO created = orderRepository.findDTOById(order.id).orElseThrow();
+        orderChanged.fire(new OrderChangedEvent(OrderChangedEvent.Type.CREATED, created.id, null, created));
+        return created;
     }
 
-    @Transactional
-    public Optional<Order> update(Long id, @Valid Order orderData) {
-        Order order = orderRepository.findById(id);
-        if (order != null) {
-            if (orderData.products != null) {
-                order.products = orderData.products;
-                // Recalcular total
-                BigDecimal total = order.products.stream()
-                        .map(product -> product.price)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                order.totalAmount = total;
+    // Cria vários pedidos de uma vez: valida cada um, resolve clientes e produtos com uma consulta IN cada
+    // e grava em transações de até batchChunkSize pedidos. Pedidos inválidos não impedem a gravação dos demais.
+    public OrderBatchResultDTO createBatch(List<Order> orders) {
+        if (orders == null || orders.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter ao menos um pedido");
+        }
+        if (orders.size() > batchMaxSize) {
+            throw new IllegalArgumentException("O lote deve conter no máximo " + batchMaxSize + " pedidos");
+        }
+        OrderBatchResultDTO result = new OrderBatchResultDTO(orders.size());
+
+        List<Integer> valid = new ArrayList<>();
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (int i = 0; i < orders.size(); i++) {
+            List<String> errors = validate(orders.get(i));
+            if (!errors.isEmpty()) {
+                result.rejected(i, errors);
+                continue;
+            }
+            Order order = orders.get(i);
+            valid.add(i);
+            customerIds.add(order.customer.id);
+            if (order.items != null) {
+                order.items.forEach(item -> productIds.add(item.product.id));
+            }
+        }
+
+        Set<Long> existingCustomers = customerRepository.findExistingIds(customerIds);
+        Map<Long, BigDecimal> prices = productRepository.findPricesByIds(productIds);
+        List<Integer> accepted = new ArrayList<>(valid.size());
+        for (int index : valid) {
+            List<String> errors = new ArrayList<>();
+            Order order = orders.get(index);
+            if (!existingCustomers.contains(order.customer.id)) {
+                errors.add("Cliente não encontrado: " + order.customer.id);
+            }
+            if (order.items != null) {
+                for (OrderItem item : order.items) {
+                    if (!prices.containsKey(item.product.id)) {
+                        errors.add("Produto não encontrado: " + item.product.id);
+                    }
+                }
+            }
+            if (errors.isEmpty()) {
+                accepted.add(index);
+            } else {
+                result.rejected(index, errors);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += batchChunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + batchChunkSize, accepted.size()));
+            try {
+                List<Long> ids = QuarkusTransaction.requiringNew().call(() -> persistChunk(orders, chunk, prices));
+                for (int i = 0; i < chunk.size(); i++) {
+                    result.created(chunk.get(i), ids.get(i));
+                }
+            } catch (RuntimeException e) {
+                // A transação do bloco foi desfeita: nenhum pedido dele foi gravado
+                LOG.errorf(e, "Falha ao gravar bloco de %d pedidos do lote", chunk.size());
+                for (int index : chunk) {
+                    result.rejected(index, List.of("Erro ao gravar o pedido"));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Roda em OptimisticRetry: em conflito de versão com outra requisição a transação é desfeita e a
+    // alteração é refeita sobre o estado já confirmado (com If-Match, a nova tentativa devolve 412)
+    public Optional<OrderDTO> update(Long id, @Valid Order orderData, Long expectedVersion) {
+        return optimisticRetry.call("OrderService.update", () -> {
+            Order order = orderRepository.findById(id);
+            if (order == null) {
+                return Optional.empty();
+            }
+            PreconditionFailedException.checkVersion(expectedVersion, order.version);
+            forceIncrement(order);
+            OrderDTO previous = orderRepository.findDTOById(id).orElseThrow();
+            if (orderData.items != null) {
+                // Substitui os itens; o total é recalculado a partir dos novos itens
+                orderItemRepository.deleteByOrderId(id);
+                order.totalAmount = BigDecimal.ZERO;
+                addItems(order, orderData.items);
             }
             if (orderData.status != null) {
                 order.status = orderData.status;
             }
-            orderRepository.persist(order);
-            return Optional.of(order);
-        }
-        return Optional.empty();
+            OrderDTO updated = orderRepository.findDTOById(id).orElseThrow();
+            // O incremento forçado só é gravado no commit, depois desta leitura
+            updated.version++;
+            orderChanged.fire(new OrderChangedEvent(OrderChangedEvent.Type.UPDATED, id, previous, updated));
+            return Optional.of(updated);
+        });
     }
 
     @Transactional
-    public boolean delete(Long id) {
+    public boolean delete(Long id, Long expectedVersion) {
         Order order = orderRepository.findById(id);
         if (order != null) {
+            PreconditionFailedException.checkVersion(expectedVersion, order.version);
+            OrderDTO previous = orderRepository.findDTOById(id).orElseThrow();
+            orderItemRepository.deleteByOrderId(id);
             orderRepository.delete(order);
+            orderChanged.fire(new OrderChangedEvent(OrderChangedEvent.Type.DELETED, id, previous, null));
             return true;
         }
         return false;
     }
 
-    public List<Order> findByCustomerId(Long customerId) {
-        return orderRepository.findByCustomerId(customerId);
+    // Transição de status em lote (pipeline de atendimento): só os pedidos que ainda estão em "from" avançam;
+    // os cancelados ou alterados por PUT no meio do caminho ficam como estão. O número de statements não
+    // depende do tamanho do lote. Devolve os ids alterados.
+    @Transactional
+    public List<Long> transitionStatus(Collection<Long> ids, OrderStatus from, OrderStatus to) {
+        if (ids.isEmpty() || orderRepository.incrementVersionInStatus(ids, from) == 0) {
+            return List.of();
+        }
+        List<OrderDTO> orders = orderRepository.findDTOsByIdsAndStatus(ids, from);
+        List<Long> moved = orders.stream().map(order -> order.id).toList();
+        orderRepository.updateStatus(moved, to);
+        for (OrderDTO order : orders) {
+            OrderDTO previous = new OrderDTO(order.id, order.customerId, order.customerName, from, order.orderDate,
+                    order.totalAmount, order.items, order.version - 1);
+            order.status = to;
+            orderChanged.fire(new OrderChangedEvent(OrderChangedEvent.Type.UPDATED, order.id, previous, order));
+        }
+        return moved;
     }
 
-    public List<Order> findByStatus(OrderStatus status) {
-        return orderRepository.findByStatus(status);
+    public void streamAll(OrderStatus status, Consumer<OrderDTO> sink) {
+        orderRepository.streamDTOs(status, STREAM_FETCH_SIZE, sink);
     }
 
-    public List<Order> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return orderRepository.findByDateRange(startDate, endDate);
+    public List<OrderDTO> findByCustomerId(Long customerId) {
+        return orderRepository.findDTOsByCustomerId(customerId);
     }
 
-    @Transactional
-    public Optional<Order> addProductToOrder(Long orderId, Long productId) {
-        Order order = orderRepository.findById(orderId);
-        Product product = productRepository.findById(productId);
-        
-        if (order != null && product != null) {
-            if (order.products == null) {
-                order.products = new java.util.ArrayList<>();
-            }
-            order.products.add(product);
-            
-            // Recalcular total
-            BigDecimal total = order.products.stream()
-                    .map(p -> p.price)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public List<OrderDTO> findByStatus(OrderStatus status) {
+        return orderRepository.findDTOsByStatus(status);
+    }
+
+    public List<OrderDTO> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return orderRepository.findDTOsByDateRange(startDate, endDate);
+    }
+
+    // Alterações de itens com controle otimista: o pedido é lido sem bloqueio e a gravação termina com um
+    // UPDATE da versão e do total condicionado à versão lida. Se outra alteração gravou o pedido no meio do
+    // caminho, nenhuma linha é alterada, a transação é desfeita e OptimisticRetry refaz a operação.
+    public Optional<OrderDTO> addProductToOrder(Long orderId, Long productId, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+        }
+        checkMaxQuantity(quantity);
+        return optimisticRetry.call("OrderService.addProductToOrder", () -> {
+            Product product = productRepository.findById(productId);
+            Optional<OrderDTO> current = product == null ? Optional.empty() : orderRepository.findDTOById(orderId);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+
+            // Produto já presente no pedido: soma a quantidade mantendo o preço capturado na primeira inclusão
+            OrderItem item = orderItemRepository.findByOrderAndProduct(orderId, productId);
+            int previousQuantity = 0;
+            if (item == null) {
+                item = newItem(orderRepository.getEntityManager().getReference(Order.class, orderId), product, quantity);
+                orderItemRepository.persist(item);
+            } else {
+                previousQuantity = item.quantity;
+                item.quantity = addQuantity(item.quantity, quantity);
+            }
+            return Optional.of(itemChanged(current.get(), item, product.name, previousQuantity));
+        });
+    }
+
+    public Optional<OrderDTO> updateItemQuantity(Long orderId, Long itemId, int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantidade não pode ser negativa");
+        }
+        checkMaxQuantity(quantity);
+        return optimisticRetry.call("OrderService.updateItemQuantity", () -> {
+            Optional<OrderDTO> current = orderRepository.findDTOById(orderId);
+            OrderItem item = current.isEmpty() ? null : orderItemRepository.findByOrderAndId(orderId, itemId);
+            if (item == null) {
+                return Optional.empty();
+            }
+
+            // Quantidade zero remove o item
+            int previousQuantity = item.quantity;
+            if (quantity == 0) {
+                orderItemRepository.delete(item);
+            }
+            item.quantity = quantity;
+            return Optional.of(itemChanged(current.get(), item, null, previousQuantity));
+        });
+    }
+
+    private static int addQuantity(int current, int added) {
+        try {
+            return checkMaxQuantity(Math.addExact(current, added));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Quantidade deve ser no máximo " + OrderItem.MAX_QUANTITY);
+        }
+    }
+
+    private static int checkMaxQuantity(int quantity) {
+        if (quantity > OrderItem.MAX_QUANTITY) {
+            throw new IllegalArgumentException("Quantidade deve ser no máximo " + OrderItem.MAX_QUANTITY);
+        }
+        return quantity;
+    }
+
+    // Grava a versão e o total com checagem da versão lida e monta o pedido atualizado a partir do lido no
+    // início, com só esse item trocado. O UPDATE é o último statement antes do commit, então a linha do pedido
+    // fica bloqueada pelo menor tempo possível.
+    private OrderDTO itemChanged(OrderDTO previous, OrderItem item, String productName, int previousQuantity) {
+        BigDecimal amount = item.unitPrice.multiply(BigDecimal.valueOf(item.quantity - previousQuantity));
+        if (orderRepository.incrementVersionAndTotal(previous.id, previous.version, amount) == 0) {
+            throw new OptimisticLockException("Pedido " + previous.id + " alterado por outra requisição");
+        }
+
+        List<OrderItemDTO> items = new ArrayList<>(previous.items.size() + 1);
+        boolean found = false;
+        for (OrderItemDTO current : previous.items) {
+            if (!current.id.equals(item.id)) {
+                items.add(current);
+                continue;
+            }
+            found = true;
+            if (item.quantity > 0) {
+                items.add(new OrderItemDTO(item.id, current.productId, current.productName, item.quantity, item.unitPrice));
+            }
+        }
+        if (!found) {
+            items.add(new OrderItemDTO(item.id, item.product.id, productName, item.quantity, item.unitPrice));
+        }
+        OrderDTO updated = new OrderDTO(previous.id, previous.customerId, previous.customerName, previous.status,
+                previous.orderDate, previous.totalAmount.add(amount), items, previous.version + 1);
+        orderChanged.fire(new OrderChangedEvent(OrderChangedEvent.Type.UPDATED, previous.id, previous, updated));
+        return updated;
+    }
+
+    // Trocar só os itens não suja o pedido; o incremento forçado no commit (UPDATE com checagem da versão)
+    // mantém a versão e a ETag em dia e faz a alteração concorrente mais lenta falhar e ser refeita
+    private void forceIncrement(Order order) {
+        orderRepository.getEntityManager().lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    // Cria os itens com o preço atual de cada produto (uma única consulta IN) e soma ao total do pedido
+    private void addItems(Order order, List<OrderItem> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return;
+        }
+        for (OrderItem item : requested) {
+            if (item.product.id == null) {
+                throw new IllegalArgumentException("Produto é obrigatório");
+            }
+        }
+        Map<Long, Integer> quantities = mergeQuantities(requested);
+        Map<Long, Product> products = productRepository.findByIds(quantities.keySet()).stream()
+                .collect(Collectors.toMap(product -> product.id, Function.identity()));
+
+        List<OrderItem> items = new ArrayList<>(quantities.size());
+        BigDecimal total = order.totalAmount;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                throw new IllegalArgumentException("Produto não encontrado: " + entry.getKey());
+            }
+            OrderItem item = newItem(order, product, entry.getValue());
+            total = total.add(item.subtotal());
+            items.add(item);
+        }
+        orderItemRepository.persist(items);
+        order.totalAmount = total;
+    }
+
+    // Grava um bloco do lote; todos os pedidos são persistidos antes dos itens para que o flush
+    // agrupe os INSERTs de cada tabela em lotes JDBC (quarkus.hibernate-orm.jdbc.statement-batch-size)
+    private List<Long> persistChunk(List<Order> requests, List<Integer> chunk, Map<Long, BigDecimal> prices) {
+        EntityManager entityManager = orderRepository.getEntityManager();
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> orders = new ArrayList<>(chunk.size());
+        List<OrderItem> items = new ArrayList<>();
+        for (int index : chunk) {
+            Order request = requests.get(index);
+            Order order = new Order();
+            order.customer = entityManager.getReference(Customer.class, request.customer.id);
+            order.orderDate = now;
+            order.status = OrderStatus.NEW;
+            BigDecimal total = BigDecimal.ZERO;
+            if (request.items != null) {
+                for (Map.Entry<Long, Integer> entry : mergeQuantities(request.items).entrySet()) {
+                    OrderItem item = new OrderItem();
+                    item.order = order;
+                    item.product = entityManager.getReference(Product.class, entry.getKey());
+                    item.quantity = entry.getValue();
+                    item.unitPrice = prices.get(entry.getKey());
+                    total = total.add(item.subtotal());
+                    items.add(item);
+                }
+            }
             order.totalAmount = total;
-            
-            orderRepository.persist(order);
-            return Optional.of(order);
+            orders.add(order);
+        }
+        orderRepository.persist(orders);
+        orderItemRepository.persist(items);
+        orderRepository.flush();
+        Map<Order, List<OrderItemDTO>> itemsByOrder = new HashMap<>();
+        for (OrderItem item : items) {
+            itemsByOrder.computeIfAbsent(item.order, key -> new ArrayList<>())
+                    .add(new OrderItemDTO(item.id, item.product.id, null, item.quantity, item.unitPrice));
+        }
+        for (Order order : orders) {
+            OrderDTO created = new OrderDTO(order.id, order.customer.id, null, order.status, order.orderDate,
+                    order.totalAmount, itemsByOrder.getOrDefault(order, List.of()), order.version);
+            orderChanged.fire(new OrderChangedEvent(OrderChangedEvent.Type.CREATED, order.id, null, created));
+        }
+        return orders.stream().map(order -> order.id).toList();
+    }
+
+    private List<String> validate(Order order) {
+        if (order == null) {
+            return List.of("Pedido vazio");
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Order> violation : validator.validate(order)) {
+            errors.add(violation.getMessage());
+        }
+        if (errors.isEmpty() && order.customer.id == null) {
+            errors.add("Cliente é obrigatório");
+        }
+        if (errors.isEmpty() && order.items != null) {
+            for (OrderItem item : order.items) {
+                if (item == null || item.product == null || item.product.id == null) {
+                    errors.add("Produto é obrigatório");
+                    break;
+                }
+            }
+        }
+        if (errors.isEmpty() && order.items != null) {
+            // Produto repetido no pedido: a soma das quantidades também respeita o limite por item
+            try {
+                mergeQuantities(order.items);
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    // Soma as quantidades de produtos repetidos, preservando a ordem em que aparecem
+    private static Map<Long, Integer> mergeQuantities(List<OrderItem> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.product.id, item.quantity, OrderService::addQuantity);
         }
-        return Optional.empty();
+        return quantities;
+    }
+
+    private OrderItem newItem(Order order, Product product, int quantity) {
+        OrderItem item = new OrderItem();
+        item.order = order;
+        item.product = product;
+        item.quantity = quantity;
+        item.unitPrice = product.price;
+        return item;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package entrega.services;
+
+import entrega.dtos.OrderStatsDTO;
+import entrega.events.OrderChangedEvent;
+import entrega.models.enums.OrderStatus;
+import entrega.repositories.OrderRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Contadores de pedidos em memória para GET /orders/stats: carregados do banco na inicialização e ajustados
+// a cada commit do OrderService. Quantidade e receita (em centavos) por status ficam em LongAdders, então
+// atualizações concorrentes não disputam um lock e a leitura não acessa o banco.
+@ApplicationScoped
+public class OrderStatistics {
+
+    private static final Logger LOG = Logger.getLogger(OrderStatistics.class);
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Inject
+    OrderRepository orderRepository;
+
+    private volatile Counters counters = new Counters();
+
+    private volatile DailyCount today = new DailyCount(LocalDate.now());
+
+    void onStart(@Observes StartupEvent event) {
+        reload();
+    }
+
+    public synchronized void reload() {
+        LocalDate day = LocalDate.now();
+        Counters loaded = new Counters();
+        DailyCount daily = new DailyCount(day);
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (Object[] row : orderRepository.countAndSumByStatus()) {
+                int status = ((OrderStatus) row[0]).ordinal();
+                loaded.counts[status].add((Long) row[1]);
+                loaded.revenueCents[status].add(toCents((BigDecimal) row[2]));
+            }
+            daily.count.add(orderRepository.countSince(day.atStartOfDay()));
+        });
+        counters = loaded;
+        today = daily;
+        LOG.infof("Estatísticas de pedidos carregadas: %d pedidos", loaded.total());
+    }
+
+    void onOrderChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) OrderChangedEvent event) {
+        Counters current = counters;
+        if (event.previous != null) {
+            current.counts[event.previous.status.ordinal()].decrement();
+            current.revenueCents[event.previous.status.ordinal()].add(-toCents(event.previous.totalAmount));
+        }
+        if (event.order != null) {
+            current.counts[event.order.status.ordinal()].increment();
+            current.revenueCents[event.order.status.ordinal()].add(toCents(event.order.totalAmount));
+        }
+        if (event.type != OrderChangedEvent.Type.UPDATED) {
+            LocalDate day = (event.order != null ? event.order : event.previous).orderDate.toLocalDate();
+            DailyCount daily = dailyCount(day);
+            if (daily.day.equals(day)) {
+                if (event.type == OrderChangedEvent.Type.CREATED) {
+                    daily.count.increment();
+                } else {
+                    daily.count.decrement();
+                }
+            }
+        }
+    }
+
+    public OrderStatsDTO snapshot() {
+        Counters current = counters;
+        Map<OrderStatus, Long> countByStatus = new EnumMap<>(OrderStatus.class);
+        long total = 0;
+        long revenue = 0;
+        for (OrderStatus status : STATUSES) {
+            long count = current.counts[status.ordinal()].sum();
+            countByStatus.put(status, count);
+            total += count;
+            if (status != OrderStatus.CANCELLED) {
+                revenue += current.revenueCents[status.ordinal()].sum();
+            }
+        }
+        DailyCount daily = today;
+        long ordersToday = daily.day.equals(LocalDate.now()) ? daily.count.sum() : 0;
+        return new OrderStatsDTO(total, countByStatus, BigDecimal.valueOf(revenue, 2), ordersToday);
+    }
+
+    // Na virada do dia o contador do dia anterior é descartado
+    private DailyCount dailyCount(LocalDate day) {
+        DailyCount daily = today;
+        if (daily.day.isBefore(day)) {
+            synchronized (this) {
+                if (today.day.isBefore(day)) {
+                    today = new DailyCount(day);
+                }
+                daily = today;
+            }
+        }
+        return daily;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    private static final class Counters {
+        final LongAdder[] counts = newAdders();
+        final LongAdder[] revenueCents = newAdders();
+
+        long total() {
+            long total = 0;
+            for (LongAdder count : counts) {
+                total += count.sum();
+            }
+            return total;
+        }
+
+        private static LongAdder[] newAdders() {
+            LongAdder[] adders = new LongAdder[STATUSES.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    private static final class DailyCount {
+        final LocalDate day;
+        final LongAdder count = new LongAdder();
+
+        DailyCount(LocalDate day) {
+            this.day = day;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package entrega.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import entrega.dtos.ProductDTO;
+import entrega.events.EventOrdering;
+import entrega.events.ProductChangedEvent;
+import entrega.events.ProductsImportedEvent;
+import entrega.repositories.KeysetPage;
+import entrega.repositories.ProductRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Snapshot imutável do catálogo de produtos com o JSON de cada produto já serializado.
+// Leituras não tocam Hibernate nem Jackson; cada commit em ProductService (ou bloco da importação) gera um novo
+// snapshot (copy-on-write). Eventos atrasados (fora da ordem dos commits) são descartados por EventOrdering.
+@ApplicationScoped
+public class ProductCatalog {
+
+    private static final Logger LOG = Logger.getLogger(ProductCatalog.class);
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    private final EventOrdering ordering = new EventOrdering();
+
+    void onStart(@Observes StartupEvent event) {
+        reload();
+    }
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    public synchronized void reload() {
+        List<ProductDTO> products = QuarkusTransaction.requiringNew().call(productRepository::findAllDTOs);
+        int size = products.size();
+        long[] ids = new long[size];
+        ProductDTO[] dtos = new ProductDTO[size];
+        byte[][] json = new byte[size][];
+        ordering.reset();
+        for (int i = 0; i < size; i++) {
+            ProductDTO product = products.get(i);
+            ordering.accept(product.id, product.version);
+            ids[i] = product.id;
+            dtos[i] = product;
+            json[i] = encode(product);
+        }
+        Snapshot snapshot = new Snapshot(current.get().version + 1, ids, dtos, json);
+        current.set(snapshot);
+        LOG.infof("Catálogo de produtos carregado: %d produtos (versão %d)", size, snapshot.version);
+    }
+
+    synchronized void onProductChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+        Snapshot snapshot = current.get();
+        if (event.type == ProductChangedEvent.Type.DELETED) {
+            ordering.delete(event.id);
+            current.set(snapshot.without(event.id));
+        } else if (ordering.accept(event.id, event.product.version)) {
+            current.set(snapshot.with(event.product, encode(event.product)));
+        }
+    }
+
+    // Um bloco da importação vira um único novo snapshot, mesclando as alterações ordenadas por id
+    synchronized void onProductsImported(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductsImportedEvent event) {
+        Snapshot snapshot = current.get();
+        List<ProductDTO> changed = new ArrayList<>(event.changes.size());
+        for (ProductChangedEvent change : event.changes) {
+            if (change.product != null && ordering.accept(change.id, change.product.version)) {
+                changed.add(change.product);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        changed.sort(Comparator.comparingLong(product -> product.id));
+        byte[][] changedJson = new byte[changed.size()][];
+        for (int i = 0; i < changedJson.length; i++) {
+            changedJson[i] = encode(changed.get(i));
+        }
+        current.set(snapshot.withAll(changed.toArray(ProductDTO[]::new), changedJson));
+    }
+
+    private byte[] encode(ProductDTO product) {
+        try {
+            return objectMapper.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, new long[0], new ProductDTO[0], new byte[0][]);
+
+        public final long version;
+        // Ordenados por id, em paralelo
+        private final long[] ids;
+        private final ProductDTO[] products;
+        private final byte[][] json;
+
+        Snapshot(long version, long[] ids, ProductDTO[] products, byte[][] json) {
+            this.version = version;
+            this.ids = ids;
+            this.products = products;
+            this.json = json;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public Optional<ProductDTO> find(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? Optional.of(products[index]) : Optional.empty();
+        }
+
+        public Optional<byte[]> findJson(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? Optional.of(json[index]) : Optional.empty();
+        }
+
+        public List<ProductDTO> products() {
+            return List.of(products);
+        }
+
+        // Mesma semântica de KeysetPage: itens com id > afterId, em ordem de id
+        public KeysetPage<byte[]> pageJson(Long afterId, int limit) {
+            int from = 0;
+            if (afterId != null) {
+                int index = Arrays.binarySearch(ids, afterId);
+                from = index >= 0 ? index + 1 : -index - 1;
+            }
+            int to = Math.min(from + limit, ids.length);
+            List<byte[]> items = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                items.add(json[i]);
+            }
+            Long nextAfter = to < ids.length ? ids[to - 1] : null;
+            return new KeysetPage<>(items, nextAfter);
+        }
+
+        Snapshot with(ProductDTO product, byte[] productJson) {
+            int index = Arrays.binarySearch(ids, product.id);
+            if (index >= 0) {
+                ProductDTO[] newProducts = products.clone();
+                byte[][] newJson = json.clone();
+                newProducts[index] = product;
+                newJson[index] = productJson;
+                return new Snapshot(version + 1, ids, newProducts, newJson);
+            }
+            int insertAt = -index - 1;
+            int size = ids.length;
+            long[] newIds = new long[size + 1];
+            ProductDTO[] newProducts = new ProductDTO[size + 1];
+            byte[][] newJson = new byte[size + 1][];
+            System.arraycopy(ids, 0, newIds, 0, insertAt);
+            System.arraycopy(products, 0, newProducts, 0, insertAt);
+            System.arraycopy(json, 0, newJson, 0, insertAt);
+            newIds[insertAt] = product.id;
+            newProducts[insertAt] = product;
+            newJson[insertAt] = productJson;
+            System.arraycopy(ids, insertAt, newIds, insertAt + 1, size - insertAt);
+            System.arraycopy(products, insertAt, newProducts, insertAt + 1, size - insertAt);
+            System.arraycopy(json, insertAt, newJson, insertAt + 1, size - insertAt);
+            return new Snapshot(version + 1, newIds, newProducts, newJson);
+        }
+
+        // Insere ou substitui vários produtos (ordenados por id, sem repetição) em uma só passagem
+        Snapshot withAll(ProductDTO[] changed, byte[][] changedJson) {
+            int size = ids.length;
+            long[] newIds = new long[size + changed.length];
+            ProductDTO[] newProducts = new ProductDTO[size + changed.length];
+            byte[][] newJson = new byte[size + changed.length][];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < size || j < changed.length) {
+                if (j == changed.length || (i < size && ids[i] < changed[j].id)) {
+                    newIds[n] = ids[i];
+                    newProducts[n] = products[i];
+                    newJson[n] = json[i];
+                    i++;
+                } else {
+                    if (i < size && ids[i] == changed[j].id) {
+                        i++;
+                    }
+                    newIds[n] = changed[j].id;
+                    newProducts[n] = changed[j];
+                    newJson[n] = changedJson[j];
+                    j++;
+                }
+                n++;
+            }
+            return new Snapshot(version + 1, Arrays.copyOf(newIds, n), Arrays.copyOf(newProducts, n), Arrays.copyOf(newJson, n));
+        }
+
+        Snapshot without(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return this;
+            }
+            int size = ids.length;
+            long[] newIds = new long[size - 1];
+            ProductDTO[] newProducts = new ProductDTO[size - 1];
+            byte[][] newJson = new byte[size - 1][];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(products, 0, newProducts, 0, index);
+            System.arraycopy(json, 0, newJson, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, size - index - 1);
+            System.arraycopy(products, index + 1, newProducts, index, size - index - 1);
+            System.arraycopy(json, index + 1, newJson, index, size - index - 1);
+            return new Snapshot(version + 1, newIds, newProducts, newJson);
+        }
+    }
+
+    // Monta um array JSON concatenando os bytes já serializados
+    public static byte[] toJsonArray(List<byte[]> elements) {
+        int length = 2 + Math.max(0, elements.size() - 1);
+        for (byte[] element : elements) {
+            length += element.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        out.write('[');
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(elements.get(i));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,321 @@
+package entrega.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import entrega.dtos.ProductDTO;
+import entrega.dtos.ProductImportResultDTO;
+import entrega.events.ProductChangedEvent;
+import entrega.events.ProductsImportedEvent;
+import entrega.models.Product;
+import entrega.repositories.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Importação do catálogo lendo o corpo linha a linha (NDJSON ou CSV): só um bloco de linhas fica em memória.
+// Cada bloco é gravado em sua própria transação, fazendo upsert pelo nome do produto (único na tabela), e
+// publica um ProductsImportedEvent para o catálogo, os índices e o feed de produtos. Um nome que já apareceu
+// antes no mesmo arquivo é rejeitado como linha repetida.
+@ApplicationScoped
+@Timed("api.service")
+public class ProductImportService {
+
+    private static final Logger LOG = Logger.getLogger(ProductImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    public enum Format { NDJSON, CSV }
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    Event<ProductsImportedEvent> productsImported;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "api.products.import.chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    public ProductImportResultDTO importProducts(InputStream body, Format format) {
+        ObjectReader jsonReader = objectMapper.readerFor(Product.class);
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        // Linhas pendentes do bloco atual, pelo nome (chave natural do upsert)
+        Map<String, Row> chunk = new LinkedHashMap<>();
+        // Ids gravados pelos blocos anteriores: um nome que cai num deles repete uma linha já importada
+        Set<Long> written = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            CsvColumns columns = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = CsvColumns.parse(line);
+                    continue;
+                }
+
+                Product product;
+                try {
+                    product = format == Format.CSV ? columns.toProduct(line) : jsonReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    reject(result, lineNumber, "JSON inválido");
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    reject(result, lineNumber, e.getMessage());
+                    continue;
+                }
+                if (product == null) {
+                    reject(result, lineNumber, "Linha sem produto");
+                    continue;
+                }
+                product.id = null;
+                String errors = validate(product);
+                if (errors != null) {
+                    reject(result, lineNumber, errors);
+                    continue;
+                }
+
+                // Nome repetido no mesmo bloco: vale a primeira linha
+                Row previous = chunk.putIfAbsent(product.name, new Row(lineNumber, product));
+                if (previous != null) {
+                    reject(result, lineNumber, repeated(previous.line));
+                    continue;
+                }
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, written, result);
+                }
+            }
+            flush(chunk, written, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LOG.infof("Importação de produtos: %d inseridos, %d atualizados, %d inalterados, %d rejeitados",
+                result.inserted, result.updated, result.unchanged, result.rejected);
+        return result;
+    }
+
+    private void flush(Map<String, Row> chunk, Set<Long> written, ProductImportResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            Outcome outcome = QuarkusTransaction.requiringNew().call(() -> upsert(chunk.values(), written));
+            result.inserted += outcome.inserted;
+            result.updated += outcome.updated;
+            result.unchanged += outcome.unchanged;
+            for (Row row : outcome.repeated) {
+                reject(result, row.line, repeated(null));
+            }
+            written.addAll(outcome.ids);
+        } catch (RuntimeException e) {
+            // A transação do bloco foi desfeita: todas as suas linhas ficam rejeitadas
+            LOG.errorf(e, "Falha ao gravar bloco de %d produtos importados", chunk.size());
+            for (Row row : chunk.values()) {
+                reject(result, row.line, "Erro ao gravar o produto");
+            }
+        }
+        chunk.clear();
+    }
+
+    private Outcome upsert(Collection<Row> rows, Set<Long> written) {
+        Map<String, Product> existing = productRepository.findByNames(
+                rows.stream().map(row -> row.product.name).toList());
+        Outcome outcome = new Outcome();
+        List<Product> inserts = new ArrayList<>();
+        List<Product> updates = new ArrayList<>();
+        for (Row row : rows) {
+            Product product = existing.get(row.product.name);
+            if (product == null) {
+                inserts.add(row.product);
+                outcome.inserted++;
+            } else if (written.contains(product.id)) {
+                outcome.repeated.add(row);
+            } else if (product.price.compareTo(row.product.price) == 0
+                    && Objects.equals(product.description, row.product.description)) {
+                outcome.ids.add(product.id);
+                outcome.unchanged++;
+            } else {
+                product.price = row.product.price;
+                product.description = row.product.description;
+                updates.add(product);
+                outcome.updated++;
+            }
+        }
+        productRepository.persist(inserts);
+        // O índice único do nome recusa aqui um produto inserido ao mesmo tempo por outra importação
+        productRepository.flush();
+
+        List<ProductChangedEvent> changes = new ArrayList<>(inserts.size() + updates.size());
+        for (Product product : inserts) {
+            changes.add(changed(ProductChangedEvent.Type.CREATED, product));
+            outcome.ids.add(product.id);
+        }
+        for (Product product : updates) {
+            changes.add(changed(ProductChangedEvent.Type.UPDATED, product));
+            outcome.ids.add(product.id);
+        }
+        if (!changes.isEmpty()) {
+            productsImported.fire(new ProductsImportedEvent(changes));
+        }
+        return outcome;
+    }
+
+    // Mesmo formato dos eventos do ProductService (preço na escala da coluna, versão após o flush)
+    private static ProductChangedEvent changed(ProductChangedEvent.Type type, Product product) {
+        BigDecimal price = product.price.setScale(2, RoundingMode.HALF_UP);
+        ProductDTO dto = new ProductDTO(product.id, product.name, price, product.description, product.version);
+        return new ProductChangedEvent(type, product.id, dto);
+    }
+
+    private static String repeated(Long firstLine) {
+        return firstLine == null
+                ? "Nome repetido no arquivo"
+                : "Nome repetido no arquivo (linha " + firstLine + ")";
+    }
+
+    private String validate(Product product) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Product> violation : validator.validate(product)) {
+            errors.add(violation.getMessage());
+        }
+        return errors.isEmpty() ? null : String.join("; ", errors);
+    }
+
+    private static void reject(ProductImportResultDTO result, long line, String message) {
+        result.rejected++;
+        if (result.errors.size() < MAX_REPORTED_ERRORS) {
+            result.errors.add(new ProductImportResultDTO.RowError(line, message));
+        }
+    }
+
+    // Resultado de um bloco gravado
+    private static final class Outcome {
+        long inserted;
+        long updated;
+        long unchanged;
+        // Linhas cujo nome já foi gravado por um bloco anterior
+        final List<Row> repeated = new ArrayList<>();
+        // Ids gravados ou conferidos pelo bloco
+        final List<Long> ids = new ArrayList<>();
+    }
+
+    private static final class Row {
+        final long line;
+        final Product product;
+
+        Row(long line, Product product) {
+            this.line = line;
+            this.product = product;
+        }
+    }
+
+    // Posição das colunas name, price e description, lida do cabeçalho do CSV
+    private static final class CsvColumns {
+        final int name;
+        final int price;
+        final int description;
+
+        private CsvColumns(int name, int price, int description) {
+            this.name = name;
+            this.price = price;
+            this.description = description;
+        }
+
+        static CsvColumns parse(String header) {
+            List<String> columns = split(header).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            if (!columns.contains("name") || !columns.contains("price")) {
+                throw new IllegalArgumentException("O cabeçalho do CSV deve conter as colunas name e price");
+            }
+            return new CsvColumns(columns.indexOf("name"), columns.indexOf("price"), columns.indexOf("description"));
+        }
+
+        Product toProduct(String line) {
+            List<String> fields = split(line);
+            Product product = new Product();
+            product.name = field(fields, name);
+            String priceText = field(fields, price);
+            try {
+                product.price = priceText == null || priceText.isBlank() ? null : new BigDecimal(priceText.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Preço inválido: " + priceText);
+            }
+            product.description = description < 0 ? null : field(fields, description);
+            return product;
+        }
+
+        private static String field(List<String> fields, int index) {
+            if (index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index);
+            return value.isEmpty() ? null : value;
+        }
+
+        // Separa uma linha CSV por vírgulas; campos iniciados por aspas podem conter vírgulas e "" como aspas literais
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Aspas não fechadas na linha");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
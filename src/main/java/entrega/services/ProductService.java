@@ -1,64 +1,123 @@
 package entrega.services;
 
+import entrega.dtos.ProductDTO;
+import entrega.events.ProductChangedEvent;
+import entrega.exceptions.PreconditionFailedException;
 import entrega.models.Product;
+import entrega.repositories.EntityVersion;
+import entrega.repositories.KeysetPage;
 import entrega.repositories.ProductRepository;
+import entrega.search.PriceIndex;
+import entrega.search.ProductNameIndex;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @ApplicationScoped
+@Timed("api.service")
 public class ProductService {
 
     @Inject
     ProductRepository productRepository;
 
+    @Inject
+    ProductNameIndex productNameIndex;
+
+    @Inject
+    PriceIndex priceIndex;
+
+    @Inject
+    ProductCatalog productCatalog;
+
+    @Inject
+    Event<ProductChangedEvent> productChanged;
+
+    // Tamanho do bloco lido do cursor nas exportações NDJSON
+    private static final int STREAM_FETCH_SIZE = 500;
+
     public List<Product> listAll() {
         return productRepository.listAll();
     }
 
+    public KeysetPage<Product> listPage(Long afterId, int limit) {
+        return productRepository.findPage(afterId, limit);
+    }
+
     public Optional<Product> findById(Long id) {
         return Optional.ofNullable(productRepository.findById(id));
     }
 
+    public Optional<EntityVersion> findVersion(Long id) {
+        return productRepository.findVersion(id);
+    }
+
     @Transactional
     public Product create(@Valid Product product) {
         productRepository.persist(product);
+        fireChanged(ProductChangedEvent.Type.CREATED, product);
         return product;
     }
 
     @Transactional
-    public Optional<Product> update(Long id, @Valid Product productData) {
+    public Optional<Product> update(Long id, @Valid Product productData, Long expectedVersion) {
         Product product = productRepository.findById(id);
         if (product != null) {
+            PreconditionFailedException.checkVersion(expectedVersion, product.version);
             product.name = productData.name;
             product.price = productData.price;
             product.description = productData.description;
-            productRepository.persist(product);
+            // flush antecipado para o evento (catálogo e índices) e a resposta já levarem a nova versão
+            productRepository.flush();
+            fireChanged(ProductChangedEvent.Type.UPDATED, product);
             return Optional.of(product);
         }
         return Optional.empty();
     }
 
     @Transactional
-    public boolean delete(Long id) {
+    public boolean delete(Long id, Long expectedVersion) {
         Product product = productRepository.findById(id);
         if (product != null) {
+            PreconditionFailedException.checkVersion(expectedVersion, product.version);
             productRepository.delete(product);
+            productChanged.fire(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, product.id, null));
             return true;
         }
         return false;
     }
 
-    public List<Product> findByNameContaining(String name) {
-        return productRepository.findByNameContaining(name);
+    public List<ProductDTO> findByNameContaining(String name) {
+        return productNameIndex.search(name);
+    }
+
+    public List<ProductDTO> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit, boolean descending) {
+        long[] ids = priceIndex.findIds(minPrice, maxPrice, limit, descending);
+        ProductCatalog.Snapshot catalog = productCatalog.snapshot();
+        List<ProductDTO> products = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            catalog.find(id).ifPresent(products::add);
+        }
+        return products;
+    }
+
+    public void streamByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Consumer<ProductDTO> sink) {
+        productRepository.streamByPriceRange(minPrice, maxPrice, STREAM_FETCH_SIZE, sink);
     }
 
-    public List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return productRepository.findByPriceRange(minPrice, maxPrice);
+    private void fireChanged(ProductChangedEvent.Type type, Product product) {
+        // Mesma escala da coluna (precision = 10, scale = 2), como seria lido do banco
+        BigDecimal price = product.price.setScale(2, RoundingMode.HALF_UP);
+        ProductDTO dto = new ProductDTO(product.id, product.name, price, product.description, product.version);
+        productChanged.fire(new ProductChangedEvent(type, product.id, dto));
     }
 }
\ No newline at end of file
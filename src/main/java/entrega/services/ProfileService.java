@@ -1,7 +1,12 @@
 package entrega.services;
 
+import entrega.exceptions.PreconditionFailedException;
+import entrega.models.Customer;
 import entrega.models.Profile;
+import entrega.repositories.EntityVersion;
+import entrega.repositories.KeysetPage;
 import entrega.repositories.ProfileRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -11,6 +16,7 @@ import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
+@Timed("api.service")
 public class ProfileService {
 
     @Inject
@@ -20,35 +26,50 @@ public class ProfileService {
         return profileRepository.listAll();
     }
 
+    public KeysetPage<Profile> listPage(Long afterId, int limit) {
+        return profileRepository.findPage(afterId, limit);
+    }
+
     public Optional<Profile> findById(Long id) {
         return Optional.ofNullable(profileRepository.findById(id));
     }
 
+    public Optional<EntityVersion> findVersion(Long id) {
+        return profileRepository.findVersion(id);
+    }
+
     @Transactional
     public Profile create(@Valid Profile profile) {
+        if (profile.customer == null || profile.customer.id == null) {
+            throw new IllegalArgumentException("Cliente é obrigatório");
+        }
+        // O cliente do corpo só traz o id (sem versão); o perfil referencia o cliente pelo id
+        profile.customer = profileRepository.getEntityManager().getReference(Customer.class, profile.customer.id);
         profileRepository.persist(profile);
         return profile;
     }
 
     @Transactional
-    public Optional<Profile> update(Long id, @Valid Profile profileData) {
+    public Optional<Profile> update(Long id, @Valid Profile profileData, Long expectedVersion) {
         Profile profile = profileRepository.findById(id);
         if (profile != null) {
+            PreconditionFailedException.checkVersion(expectedVersion, profile.version);
             profile.address = profileData.address;
             profile.phone = profileData.phone;
             profile.city = profileData.city;
             profile.state = profileData.state;
             profile.zipCode = profileData.zipCode;
-            profileRepository.persist(profile);
+            profileRepository.flush();
             return Optional.of(profile);
         }
         return Optional.empty();
     }
 
     @Transactional
-    public boolean delete(Long id) {
+    public boolean delete(Long id, Long expectedVersion) {
         Profile profile = profileRepository.findById(id);
         if (profile != null) {
+            PreconditionFailedException.checkVersion(expectedVersion, profile.version);
             profileRepository.delete(profile);
             return true;
         }
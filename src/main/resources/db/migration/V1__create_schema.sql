@@ -0,0 +1,59 @@
+-- Esquema inicial, equivalente ao gerado pelo Hibernate a partir das entidades.
+-- As chaves estrangeiras ficam para depois dos índices (V2), para que o H2 use esses índices nelas
+-- em vez de criar um índice próprio para cada constraint.
+
+CREATE SEQUENCE customers_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE profiles_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE products_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE orders_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_items_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE customers (
+    id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    version BIGINT,
+    CONSTRAINT pk_customers PRIMARY KEY (id),
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
+
+CREATE TABLE profiles (
+    id BIGINT NOT NULL,
+    address VARCHAR(200) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    city VARCHAR(100),
+    state VARCHAR(2),
+    zip_code VARCHAR(255),
+    customer_id BIGINT NOT NULL,
+    version BIGINT,
+    CONSTRAINT pk_profiles PRIMARY KEY (id),
+    CONSTRAINT uk_profiles_customer_id UNIQUE (customer_id)
+);
+
+CREATE TABLE products (
+    id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    price NUMERIC(10, 2) NOT NULL,
+    description VARCHAR(500),
+    version BIGINT,
+    CONSTRAINT pk_products PRIMARY KEY (id)
+);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    status ENUM ('CANCELLED', 'DELIVERED', 'NEW', 'PROCESSING', 'SHIPPED') NOT NULL,
+    order_date TIMESTAMP(6) NOT NULL,
+    total_amount NUMERIC(10, 2),
+    version BIGINT,
+    CONSTRAINT pk_orders PRIMARY KEY (id)
+);
+
+CREATE TABLE order_items (
+    id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL CHECK (quantity >= 1),
+    unit_price NUMERIC(10, 2) NOT NULL,
+    CONSTRAINT pk_order_items PRIMARY KEY (id)
+);
@@ -0,0 +1,21 @@
+-- Índices secundários usados pelas consultas dos repositórios (mesmos nomes dos @Index das entidades).
+-- profiles.customer_id já é indexado pela constraint uk_profiles_customer_id.
+
+-- Pedidos por cliente
+CREATE INDEX idx_orders_customer_id ON orders (customer_id);
+-- Pedidos por status, e por status dentro de um período; também atende filtros só por status
+CREATE INDEX idx_orders_status_date ON orders (status, order_date);
+-- Pedidos por período e contagem de pedidos do dia
+CREATE INDEX idx_orders_order_date ON orders (order_date);
+-- Itens por pedido e busca do item de um produto no pedido
+CREATE INDEX idx_order_items_order_product ON order_items (order_id, product_id);
+-- Itens por produto (verificação da chave estrangeira ao excluir produtos)
+CREATE INDEX idx_order_items_product_id ON order_items (product_id);
+-- Busca de produtos por nome
+CREATE INDEX idx_products_name ON products (name);
+
+-- Chaves estrangeiras, apoiadas nos índices acima (e em uk_profiles_customer_id)
+ALTER TABLE profiles ADD CONSTRAINT fk_profiles_customer FOREIGN KEY (customer_id) REFERENCES customers (id);
+ALTER TABLE orders ADD CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES customers (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id);
@@ -0,0 +1,14 @@
+-- Colunas normalizadas para as buscas, mantidas pela aplicação (NormalizedColumnsListener) e indexadas.
+-- As linhas existentes são preenchidas pela migração Java V5 com as mesmas regras; o índice único do e-mail
+-- normalizado também é criado lá, depois de conferir que os dados antigos não têm duplicatas.
+
+ALTER TABLE customers ADD COLUMN email_normalized VARCHAR(255);
+ALTER TABLE profiles ADD COLUMN city_normalized VARCHAR(100);
+ALTER TABLE profiles ADD COLUMN state_normalized VARCHAR(2);
+ALTER TABLE profiles ADD COLUMN phone_digits VARCHAR(20);
+ALTER TABLE profiles ADD COLUMN zip_code_digits VARCHAR(8);
+
+CREATE INDEX idx_profiles_city_normalized ON profiles (city_normalized);
+CREATE INDEX idx_profiles_state_normalized ON profiles (state_normalized);
+CREATE INDEX idx_profiles_phone_digits ON profiles (phone_digits);
+CREATE INDEX idx_profiles_zip_code_digits ON profiles (zip_code_digits);
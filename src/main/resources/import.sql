@@ -1,27 +1,34 @@
 -- Inserindo clientes
-INSERT INTO customers (id, name, email) VALUES (1, 'Mauricio Silva', 'mauricio@email.com');
-INSERT INTO customers (id, name, email) VALUES (2, 'Ana Costa', 'ana@email.com');
-INSERT INTO customers (id, name, email) VALUES (3, 'João Santos', 'joao@email.com');
+INSERT INTO customers (id, name, email, email_normalized, version) VALUES (1, 'Mauricio Silva', 'mauricio@email.com', 'mauricio@email.com', 0);
+INSERT INTO customers (id, name, email, email_normalized, version) VALUES (2, 'Ana Costa', 'ana@email.com', 'ana@email.com', 0);
+INSERT INTO customers (id, name, email, email_normalized, version) VALUES (3, 'João Santos', 'joao@email.com', 'joao@email.com', 0);
 
 -- Inserindo perfis
-INSERT INTO profiles (id, address, phone, city, state, zip_code, customer_id) VALUES (1, 'Rua das Flores, 123', '(11) 99999-9999', 'São Paulo', 'SP', '01234-567', 1);
-INSERT INTO profiles (id, address, phone, city, state, zip_code, customer_id) VALUES (2, 'Avenida Paulista, 456', '(11) 88888-8888', 'São Paulo', 'SP', '01310-100', 2);
-INSERT INTO profiles (id, address, phone, city, state, zip_code, customer_id) VALUES (3, 'Rua Augusta, 789', '(11) 77777-7777', 'São Paulo', 'SP', '01305-100', 3);
+INSERT INTO profiles (id, address, phone, city, state, zip_code, customer_id, version, city_normalized, state_normalized, phone_digits, zip_code_digits) VALUES (1, 'Rua das Flores, 123', '(11) 99999-9999', 'São Paulo', 'SP', '01234-567', 1, 0, 'sao paulo', 'SP', '11999999999', '01234567');
+INSERT INTO profiles (id, address, phone, city, state, zip_code, customer_id, version, city_normalized, state_normalized, phone_digits, zip_code_digits) VALUES (2, 'Avenida Paulista, 456', '(11) 88888-8888', 'São Paulo', 'SP', '01310-100', 2, 0, 'sao paulo', 'SP', '11888888888', '01310100');
+INSERT INTO profiles (id, address, phone, city, state, zip_code, customer_id, version, city_normalized, state_normalized, phone_digits, zip_code_digits) VALUES (3, 'Rua Augusta, 789', '(11) 77777-7777', 'São Paulo', 'SP', '01305-100', 3, 0, 'sao paulo', 'SP', '11777777777', '01305100');
 
 -- Inserindo produtos
-INSERT INTO products (id, name, price, description) VALUES (1, 'Notebook Dell', 3500.00, 'Notebook Dell Inspiron com 8GB RAM');
-INSERT INTO products (id, name, price, description) VALUES (2, 'Mouse Logitech', 150.00, 'Mouse sem fio Logitech M705');
-INSERT INTO products (id, name, price, description) VALUES (3, 'Teclado Mecânico', 450.00, 'Teclado mecânico RGB com switches Cherry MX');
-INSERT INTO products (id, name, price, description) VALUES (4, 'Monitor 24"', 1200.00, 'Monitor Full HD 24 polegadas');
+INSERT INTO products (id, name, price, description, version) VALUES (1, 'Notebook Dell', 3500.00, 'Notebook Dell Inspiron com 8GB RAM', 0);
+INSERT INTO products (id, name, price, description, version) VALUES (2, 'Mouse Logitech', 150.00, 'Mouse sem fio Logitech M705', 0);
+INSERT INTO products (id, name, price, description, version) VALUES (3, 'Teclado Mecânico', 450.00, 'Teclado mecânico RGB com switches Cherry MX', 0);
+INSERT INTO products (id, name, price, description, version) VALUES (4, 'Monitor 24"', 1200.00, 'Monitor Full HD 24 polegadas', 0);
 
 -- Inserindo pedidos
-INSERT INTO orders (id, status, order_date, total_amount, customer_id) VALUES (1, 'NEW', '2024-01-15 10:30:00', 3650.00, 1);
-INSERT INTO orders (id, status, order_date, total_amount, customer_id) VALUES (2, 'PROCESSING', '2024-01-16 14:20:00', 450.00, 2);
-INSERT INTO orders (id, status, order_date, total_amount, customer_id) VALUES (3, 'SHIPPED', '2024-01-17 09:15:00', 1650.00, 3);
+INSERT INTO orders (id, status, order_date, total_amount, customer_id, version) VALUES (1, 'NEW', '2024-01-15 10:30:00', 3650.00, 1, 0);
+INSERT INTO orders (id, status, order_date, total_amount, customer_id, version) VALUES (2, 'PROCESSING', '2024-01-16 14:20:00', 450.00, 2, 0);
+INSERT INTO orders (id, status, order_date, total_amount, customer_id, version) VALUES (3, 'SHIPPED', '2024-01-17 09:15:00', 1650.00, 3, 0);
 
--- Inserindo produtos nos pedidos (relacionamento many-to-many)
-INSERT INTO order_product (order_id, product_id) VALUES (1, 1);
-INSERT INTO order_product (order_id, product_id) VALUES (1, 2);
-INSERT INTO order_product (order_id, product_id) VALUES (2, 3);
-INSERT INTO order_product (order_id, product_id) VALUES (3, 2);
-INSERT INTO order_product (order_id, product_id) VALUES (3, 4);
+-- Inserindo itens dos pedidos (quantidade e preço unitário no momento da compra)
+INSERT INTO order_items (id, order_id, product_id, quantity, unit_price) VALUES (1, 1, 1, 1, 3500.00);
+INSERT INTO order_items (id, order_id, product_id, quantity, unit_price) VALUES (2, 1, 2, 1, 150.00);
+INSERT INTO order_items (id, order_id, product_id, quantity, unit_price) VALUES (3, 2, 3, 1, 450.00);
+INSERT INTO order_items (id, order_id, product_id, quantity, unit_price) VALUES (4, 3, 2, 3, 150.00);
+INSERT INTO order_items (id, order_id, product_id, quantity, unit_price) VALUES (5, 3, 4, 1, 1200.00);
+
+-- Reposicionando as sequences para não colidir com os IDs fixos acima
+ALTER SEQUENCE customers_SEQ RESTART WITH 100;
+ALTER SEQUENCE profiles_SEQ RESTART WITH 100;
+ALTER SEQUENCE products_SEQ RESTART WITH 100;
+ALTER SEQUENCE orders_SEQ RESTART WITH 100;
+ALTER SEQUENCE order_items_SEQ RESTART WITH 100;
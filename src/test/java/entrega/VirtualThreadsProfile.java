@@ -0,0 +1,22 @@
+package entrega;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+// Executa os controllers em virtual threads, registrando qualquer fixação na portadora, com o pool de
+// conexões do perfil virtual-threads
+public class VirtualThreadsProfile implements QuarkusTestProfile {
+
+    @Override
+    public String getConfigProfile() {
+        return "test,virtual-threads";
+    }
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.virtual-threads.enabled", "true",
+                "api.virtual-threads.pinning-threshold", "0ms");
+    }
+}
@@ -0,0 +1,129 @@
+package entrega.controllers;
+
+import entrega.monitoring.SqlAssertions;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class AnalyticsTest {
+
+    // Pedidos do import.sql: 15/01/2024 (3650,00), 16/01/2024 (450,00) e 17/01/2024 (1650,00)
+    private static final String SEEDED = "?from=2024-01-15&to=2024-01-17";
+
+    @Test
+    void seededOrdersAreAggregatedWithoutSql() {
+        var response = given().when().get("/analytics/average-order-value" + SEEDED).then().statusCode(200).extract();
+        assertEquals(0, SqlAssertions.statementCount(response));
+        JsonPath summary = response.jsonPath();
+        assertEquals(3, summary.getLong("orders"));
+        assertAmount("5750.00", summary.getString("revenue"));
+        assertAmount("1916.67", summary.getString("averageOrderValue"));
+
+        JsonPath days = given().when().get("/analytics/revenue" + SEEDED).then().statusCode(200).extract().jsonPath();
+        assertEquals(List.of("2024-01-15", "2024-01-16", "2024-01-17"), days.getList("date"));
+        assertAmount("3650.00", days.getString("[0].revenue"));
+        assertAmount("450.00", days.getString("[1].revenue"));
+        assertAmount("1650.00", days.getString("[2].revenue"));
+
+        JsonPath byUnits = given().when().get("/analytics/top-products" + SEEDED + "&limit=2").then().statusCode(200).extract().jsonPath();
+        assertEquals(List.of(2, 1), byUnits.getList("productId"));
+        assertEquals(4, byUnits.getLong("[0].units"));
+        assertAmount("600.00", byUnits.getString("[0].revenue"));
+        assertEquals("Mouse Logitech", byUnits.getString("[0].productName"));
+
+        JsonPath byRevenue = given().when().get("/analytics/top-products" + SEEDED + "&by=revenue").then().statusCode(200).extract().jsonPath();
+        assertEquals(List.of(1, 4, 2, 3), byRevenue.getList("productId"));
+    }
+
+    @Test
+    void rollupsFollowOrderChanges() {
+        String today = "?from=" + LocalDate.now() + "&to=" + LocalDate.now();
+        JsonPath before = summary(today);
+        long keyboards = units(today, 3);
+
+        int id = given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "items", List.of(Map.of("product", Map.of("id", 2), "quantity", 2))))
+                .when().post("/orders")
+                .then().statusCode(201).extract().path("id");
+        JsonPath created = summary(today);
+        assertEquals(before.getLong("orders") + 1, created.getLong("orders"));
+        assertAmount(revenue(before).add(new BigDecimal("300.00")), created.getString("revenue"));
+
+        int itemId = given().contentType(ContentType.JSON).when().post("/orders/" + id + "/products/3")
+                .then().statusCode(200).extract().path("items.find { it.productId == 3 }.id");
+        assertAmount(revenue(before).add(new BigDecimal("750.00")), summary(today).getString("revenue"));
+        assertEquals(keyboards + 1, units(today, 3));
+
+        given().contentType(ContentType.JSON).body(Map.of("quantity", 0))
+                .when().put("/orders/" + id + "/items/" + itemId)
+                .then().statusCode(200);
+        assertAmount(revenue(before).add(new BigDecimal("300.00")), summary(today).getString("revenue"));
+        assertEquals(keyboards, units(today, 3));
+
+        given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "status", "CANCELLED"))
+                .when().put("/orders/" + id)
+                .then().statusCode(200);
+        JsonPath cancelled = summary(today);
+        assertEquals(before.getLong("orders"), cancelled.getLong("orders"));
+        assertAmount(revenue(before), cancelled.getString("revenue"));
+
+        given().when().delete("/orders/" + id).then().statusCode(204);
+        assertEquals(before.getLong("orders"), summary(today).getLong("orders"));
+    }
+
+    @Test
+    void longRangesMatchTheOrderCounters() {
+        // Intervalo de vários anos (dentro de api.analytics.max-days): somado em paralelo (fork-join)
+        JsonPath summary = summary("?from=2024-01-01&to=" + LocalDate.now().plusYears(1));
+        JsonPath stats = given().when().get("/orders/stats").then().statusCode(200).extract().jsonPath();
+        assertEquals(stats.getLong("totalOrders") - stats.getLong("countByStatus.CANCELLED"), summary.getLong("orders"));
+        assertAmount(stats.getString("totalRevenue"), summary.getString("revenue"));
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        given().when().get("/analytics/average-order-value?from=2024-02-01&to=2024-01-01").then().statusCode(400);
+        given().when().get("/analytics/revenue?from=1900-01-01&to=2024-01-01").then().statusCode(400);
+        // O limite de dias vale para todos os relatórios, inclusive com datas nos extremos de LocalDate
+        given().when().get("/analytics/top-products?from=1900-01-01&to=2024-01-01").then().statusCode(400);
+        given().when().get("/analytics/average-order-value?from=1900-01-01&to=2024-01-01").then().statusCode(400);
+        given().when().get("/analytics/average-order-value?from=-999999999-01-01&to=2024-01-01").then().statusCode(400);
+        given().when().get("/analytics/top-products?by=price").then().statusCode(400);
+    }
+
+    private static JsonPath summary(String range) {
+        return given().when().get("/analytics/average-order-value" + range).then().statusCode(200).extract().jsonPath();
+    }
+
+    private static long units(String range, int productId) {
+        List<Map<String, Object>> products = given().when().get("/analytics/top-products" + range + "&limit=100")
+                .then().statusCode(200).extract().jsonPath().getList("$");
+        return products.stream()
+                .filter(product -> ((Number) product.get("productId")).intValue() == productId)
+                .mapToLong(product -> ((Number) product.get("units")).longValue())
+                .sum();
+    }
+
+    private static BigDecimal revenue(JsonPath summary) {
+        return new BigDecimal(summary.getString("revenue"));
+    }
+
+    private static void assertAmount(String expected, String actual) {
+        assertAmount(new BigDecimal(expected), actual);
+    }
+
+    private static void assertAmount(BigDecimal expected, String actual) {
+        assertEquals(0, expected.compareTo(new BigDecimal(actual)), () -> "valor " + actual + ", esperado " + expected);
+    }
+}
@@ -0,0 +1,91 @@
+package entrega.controllers;
+
+import entrega.monitoring.SqlAssertions;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class ConditionalRequestTest {
+
+    @Test
+    void ifNoneMatchReturnsNotModifiedWithoutLoadingTheEntity() {
+        String etag = given().when().get("/customers/1")
+                .then().statusCode(200).header("ETag", notNullValue())
+                .extract().header("ETag");
+
+        ExtractableResponse<Response> notModified = given().header("If-None-Match", etag)
+                .when().get("/customers/1")
+                .then().statusCode(304).header("ETag", equalTo(etag))
+                .extract();
+        assertTrue(SqlAssertions.statementCount(notModified) <= 1);
+    }
+
+    @Test
+    void productsAreRevalidatedFromTheCatalog() {
+        String etag = given().when().get("/products/1").then().statusCode(200).extract().header("ETag");
+        ExtractableResponse<Response> notModified = given().header("If-None-Match", etag)
+                .when().get("/products/1")
+                .then().statusCode(304)
+                .extract();
+        assertEquals(0, SqlAssertions.statementCount(notModified));
+
+        String page = given().when().get("/products?limit=2").then().statusCode(200).extract().header("ETag");
+        given().header("If-None-Match", page)
+                .when().get("/products?limit=2")
+                .then().statusCode(304);
+    }
+
+    @Test
+    void ifMatchRejectsLostUpdates() {
+        int id = given().contentType(ContentType.JSON)
+                .body(Map.of("name", "Cliente ETag", "email", "etag@example.com"))
+                .when().post("/customers")
+                .then().statusCode(201).extract().path("id");
+        String etag = given().when().get("/customers/" + id).then().extract().header("ETag");
+
+        String updated = given().contentType(ContentType.JSON).header("If-Match", etag)
+                .body(Map.of("name", "Cliente ETag 2", "email", "etag@example.com"))
+                .when().put("/customers/" + id)
+                .then().statusCode(200).body("version", equalTo(1))
+                .extract().header("ETag");
+        assertNotEquals(etag, updated);
+
+        // Segunda escrita baseada na representação antiga
+        given().contentType(ContentType.JSON).header("If-Match", etag)
+                .body(Map.of("name", "Cliente ETag 3", "email", "etag@example.com"))
+                .when().put("/customers/" + id)
+                .then().statusCode(412);
+        given().header("If-Match", etag)
+                .when().delete("/customers/" + id)
+                .then().statusCode(412);
+        given().when().get("/customers/" + id).then().body("name", equalTo("Cliente ETag 2"));
+    }
+
+    @Test
+    void orderETagChangesWhenItemsChange() {
+        int id = given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "items", List.of(Map.of("product", Map.of("id", 1), "quantity", 1))))
+                .when().post("/orders")
+                .then().statusCode(201).extract().path("id");
+        String etag = given().when().get("/orders/" + id).then().statusCode(200).extract().header("ETag");
+        given().header("If-None-Match", etag).when().get("/orders/" + id).then().statusCode(304);
+
+        given().contentType(ContentType.JSON)
+                .when().post("/orders/" + id + "/products/2")
+                .then().statusCode(200);
+        given().header("If-None-Match", etag).when().get("/orders/" + id).then().statusCode(200);
+    }
+}
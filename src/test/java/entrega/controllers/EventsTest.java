@@ -0,0 +1,154 @@
+package entrega.controllers;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class EventsTest {
+
+    @TestHTTPResource("/events/products")
+    URI products;
+
+    @TestHTTPResource("/events/orders")
+    URI orders;
+
+    @Test
+    void productChangesArePushedAndCanBeResumed() throws Exception {
+        String lastId;
+        int productId;
+        try (Subscription subscription = Subscription.open(products, null)) {
+            productId = given().contentType(ContentType.JSON)
+                    .body(Map.of("name", "Produto SSE", "price", 10))
+                    .when().post("/products")
+                    .then().statusCode(201).extract().path("id");
+            Event created = subscription.next();
+            assertTrue(created.data.contains("\"id\":" + productId), created.data);
+            assertTrue(created.data.contains("\"type\":\"CREATED\""), created.data);
+            lastId = created.id;
+        }
+
+        // Alterações feitas sem ninguém conectado chegam na reconexão com Last-Event-ID
+        given().contentType(ContentType.JSON)
+                .body(Map.of("name", "Produto SSE", "price", 12))
+                .when().put("/products/" + productId)
+                .then().statusCode(200);
+        given().when().delete("/products/" + productId).then().statusCode(204);
+
+        try (Subscription subscription = Subscription.open(products, lastId)) {
+            Event updated = subscription.next();
+            assertTrue(updated.data.contains("\"type\":\"UPDATED\""), updated.data);
+            assertTrue(updated.data.contains("\"price\":12"), updated.data);
+            assertTrue(subscription.next().data.contains("\"type\":\"DELETED\""));
+        }
+    }
+
+    @Test
+    void orderEventsCarryStatusAndVersion() throws Exception {
+        try (Subscription subscription = Subscription.open(orders, null)) {
+            int id = given().contentType(ContentType.JSON)
+                    .body(Map.of("customer", Map.of("id", 1), "items", List.of()))
+                    .when().post("/orders")
+                    .then().statusCode(201).extract().path("id");
+            given().contentType(ContentType.JSON)
+                    .body(Map.of("customer", Map.of("id", 1), "status", "DELIVERED"))
+                    .when().put("/orders/" + id)
+                    .then().statusCode(200);
+
+            assertTrue(subscription.next().data.contains("\"status\":\"NEW\""));
+            Event delivered = subscription.next();
+            assertTrue(delivered.data.contains("\"id\":" + id + ",\"type\":\"UPDATED\",\"status\":\"DELIVERED\""), delivered.data);
+            long version = given().when().get("/orders/" + id).then().extract().jsonPath().getLong("version");
+            assertTrue(delivered.data.endsWith("\"version\":" + version + "}"), delivered.data);
+        }
+    }
+
+    @Test
+    void unknownEventIdsAskForAResync() throws Exception {
+        try (Subscription subscription = Subscription.open(orders, "outra-execucao-42")) {
+            assertEquals("reset", subscription.next().name);
+        }
+    }
+
+    record Event(String id, String name, String data) {}
+
+    // Lê o fluxo SSE em outra thread, evento a evento
+    static final class Subscription implements AutoCloseable {
+        private final InputStream body;
+        private final BlockingQueue<Event> events = new ArrayBlockingQueue<>(100);
+
+        private Subscription(InputStream body) {
+            this.body = body;
+            Thread.ofVirtual().start(this::read);
+        }
+
+        static Subscription open(URI uri, String lastEventId) throws Exception {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri).header("Accept", "text/event-stream");
+            if (lastEventId != null) {
+                request.header("Last-Event-ID", lastEventId);
+            }
+            HttpResponse<InputStream> response = HttpClient.newHttpClient()
+                    .send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            assertEquals(200, response.statusCode());
+            return new Subscription(response.body());
+        }
+
+        Event next() throws InterruptedException {
+            Event event = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event, "Nenhum evento recebido");
+            return event;
+        }
+
+        private void read() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                String id = null;
+                String name = null;
+                List<String> data = new ArrayList<>();
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (line.isEmpty()) {
+                        if (!data.isEmpty()) {
+                            events.add(new Event(id, name, String.join("\n", data)));
+                        }
+                        id = null;
+                        name = null;
+                        data.clear();
+                    } else if (line.startsWith("id:")) {
+                        id = line.substring(3).trim();
+                    } else if (line.startsWith("event:")) {
+                        name = line.substring(6).trim();
+                    } else if (line.startsWith("data:")) {
+                        data.add(line.substring(5).trim());
+                    }
+                }
+            } catch (Exception e) {
+                // Conexão fechada pelo teste
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            body.close();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package entrega.controllers;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import entrega.dtos.OrderDTO;
+import entrega.dtos.OrderItemDTO;
+import entrega.dtos.ProductDTO;
+import entrega.models.enums.OrderStatus;
+import entrega.services.ProductCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização Jackson das listas devolvidas por GET /orders e GET /products, comparada com a
+// montagem do array a partir do JSON já serializado no ProductCatalog
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    int size;
+
+    private ObjectWriter writer;
+    private List<OrderDTO> orders;
+    private List<ProductDTO> products;
+    private List<byte[]> encodedProducts;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Mesma configuração do ObjectMapper padrão do Quarkus
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        writer = objectMapper.writer();
+
+        LocalDateTime now = LocalDateTime.now();
+        orders = new ArrayList<>(size);
+        products = new ArrayList<>(size);
+        encodedProducts = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            List<OrderItemDTO> items = new ArrayList<>();
+            for (long j = 1; j <= 3; j++) {
+                items.add(new OrderItemDTO(i * 10 + j, j, "Produto " + j, 2, new BigDecimal("49.90")));
+            }
+            orders.add(new OrderDTO(i, i, "Cliente " + i, OrderStatus.NEW, now, new BigDecimal("299.40"), items, 0L));
+
+            ProductDTO product = new ProductDTO(i, "Produto " + i, new BigDecimal("49.90"), "Descrição do produto " + i, 0L);
+            products.add(product);
+            encodedProducts.add(objectMapper.writeValueAsBytes(product));
+        }
+    }
+
+    @Benchmark
+    public byte[] orders() throws Exception {
+        return writer.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] products() throws Exception {
+        return writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] productsPreEncoded() {
+        return ProductCatalog.toJsonArray(encodedProducts);
+    }
+}
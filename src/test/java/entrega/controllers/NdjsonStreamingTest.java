@@ -0,0 +1,90 @@
+package entrega.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Exportações NDJSON: tipo de conteúdo, um objeto JSON completo por linha e resposta vazia sem resultados
+@QuarkusTest
+class NdjsonStreamingTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void ordersAreStreamedOnePerLine() {
+        List<JsonNode> orders = stream("/orders");
+        assertFalse(orders.isEmpty());
+        for (JsonNode order : orders) {
+            assertTrue(order.hasNonNull("id"));
+            assertTrue(order.get("items").isArray());
+        }
+
+        List<JsonNode> shipped = stream("/orders/status/SHIPPED");
+        assertFalse(shipped.isEmpty());
+        shipped.forEach(order -> assertEquals("SHIPPED", order.get("status").asText()));
+    }
+
+    @Test
+    void priceRangeStreamMatchesTheJsonArray() {
+        String range = "?minPrice=100&maxPrice=500";
+        List<Long> expected = given().accept("application/json")
+                .when().get("/products/price-range" + range)
+                .then().statusCode(200).extract().jsonPath().getList("id", Long.class);
+        List<Long> streamed = stream("/products/price-range" + range).stream().map(product -> product.get("id").asLong()).toList();
+        assertFalse(expected.isEmpty());
+        // O stream vem do banco em ordem de id; o array, do índice de preços
+        assertEquals(expected.stream().sorted().toList(), streamed.stream().sorted().toList());
+    }
+
+    @Test
+    void reactiveCatalogStreamHasOneProductPerLine() {
+        List<JsonNode> products = stream("/reactive/products");
+        assertFalse(products.isEmpty());
+        products.forEach(product -> assertTrue(product.hasNonNull("name")));
+    }
+
+    @Test
+    void emptyResultsProduceAnEmptyBody() {
+        ExtractableResponse<Response> response = given().accept(NdjsonWriter.MEDIA_TYPE)
+                .when().get("/products/price-range?minPrice=99999999&maxPrice=99999999")
+                .then().statusCode(200).extract();
+        assertTrue(response.contentType().startsWith(NdjsonWriter.MEDIA_TYPE), response.contentType());
+        assertEquals("", response.asString());
+    }
+
+    // Exige o tipo NDJSON e que cada linha (inclusive a última, terminada em \n) seja um objeto JSON
+    private static List<JsonNode> stream(String path) {
+        ExtractableResponse<Response> response = given().accept(NdjsonWriter.MEDIA_TYPE)
+                .when().get(path)
+                .then().statusCode(200).extract();
+        assertTrue(response.contentType().startsWith(NdjsonWriter.MEDIA_TYPE), response.contentType());
+        String body = response.asString();
+        if (body.isEmpty()) {
+            return List.of();
+        }
+        assertTrue(body.endsWith("\n"), "última linha sem \\n");
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            try {
+                JsonNode node = MAPPER.readTree(line);
+                assertTrue(node.isObject(), () -> "linha não é um objeto JSON: " + line);
+                lines.add(node);
+            } catch (Exception e) {
+                throw new AssertionError("linha inválida em " + path + ": " + line, e);
+            }
+        }
+        return lines;
+    }
+}
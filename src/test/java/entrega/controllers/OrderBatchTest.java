@@ -0,0 +1,116 @@
+package entrega.controllers;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+@QuarkusTest
+class OrderBatchTest {
+
+    @Test
+    void reportsResultPerOrder() {
+        List<Map<String, Object>> orders = List.of(
+                order(1L, 2L, 3),
+                order(99999L, 1L, 1),
+                order(2L, 88888L, 1),
+                Map.of("items", List.of()),
+                order(3L, 4L, 2));
+
+        given().contentType(ContentType.JSON).body(orders)
+                .when().post("/orders/batch")
+                .then()
+                .statusCode(200)
+                .body("total", equalTo(5))
+                .body("created", equalTo(2))
+                .body("rejected", equalTo(3))
+                .body("results[0].status", equalTo("CREATED"))
+                .body("results[0].id", notNullValue())
+                .body("results[1].status", equalTo("REJECTED"))
+                .body("results[1].id", nullValue())
+                .body("results[1].errors", hasItem("Cliente não encontrado: 99999"))
+                .body("results[2].errors", hasItem("Produto não encontrado: 88888"))
+                .body("results[3].errors", hasItem("Cliente é obrigatório"))
+                .body("results[4].status", equalTo("CREATED"));
+
+        int id = given().contentType(ContentType.JSON).body(orders)
+                .when().post("/orders/batch")
+                .then().extract().path("results[4].id");
+        given().when().get("/orders/" + id)
+                .then()
+                .statusCode(200)
+                .body("totalAmount", equalTo(2400.00f))
+                .body("items[0].quantity", equalTo(2));
+    }
+
+    @Test
+    void rejectsEmptyBatch() {
+        given().contentType(ContentType.JSON).body(List.of())
+                .when().post("/orders/batch")
+                .then()
+                .statusCode(400);
+    }
+
+    // Compara a vazão de POST /orders (um pedido por requisição) com POST /orders/batch.
+    // Executar com: ./mvnw test -Dtest=OrderBatchTest -Dbenchmark=true [-Dbenchmark.orders=2000]
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkSingleVersusBatch() {
+        int count = Integer.getInteger("benchmark.orders", 2000);
+        List<Map<String, Object>> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(order((long) (i % 3) + 1, (long) (i % 4) + 1, (i % 5) + 1));
+        }
+
+        // Aquecimento dos dois caminhos
+        for (int i = 0; i < 50; i++) {
+            postSingle(orders.get(i));
+        }
+        postBatch(orders.subList(0, 50));
+
+        long start = System.nanoTime();
+        for (Map<String, Object> order : orders) {
+            postSingle(order);
+        }
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        postBatch(orders);
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("POST /orders:       %d pedidos em %.2fs (%.0f pedidos/s)%n",
+                count, singleSeconds, count / singleSeconds);
+        System.out.printf("POST /orders/batch: %d pedidos em %.2fs (%.0f pedidos/s)%n",
+                count, batchSeconds, count / batchSeconds);
+    }
+
+    private void postSingle(Map<String, Object> order) {
+        given().contentType(ContentType.JSON).body(order)
+                .when().post("/orders")
+                .then().statusCode(201);
+    }
+
+    private void postBatch(List<Map<String, Object>> orders) {
+        given().contentType(ContentType.JSON).body(orders)
+                .when().post("/orders/batch")
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(orders.size()));
+    }
+
+    private static Map<String, Object> order(Long customerId, Long productId, int quantity) {
+        return Map.of(
+                "customer", Map.of("id", customerId),
+                "items", List.of(Map.of("product", Map.of("id", productId), "quantity", quantity)));
+    }
+}
@@ -0,0 +1,99 @@
+package entrega.controllers;
+
+import entrega.models.OrderItem;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// PUT /orders/{orderId}/items/{itemId}: quantidade alterada, item removido com zero e total recalculado
+@QuarkusTest
+class OrderItemsTest {
+
+    @Test
+    void quantityChangesAndRemovalsKeepTheTotal() {
+        int mouse = createProduct("Mouse itens", "12.50");
+        int teclado = createProduct("Teclado itens", "40.00");
+        JsonPath order = given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "items", List.of(
+                        Map.of("product", Map.of("id", mouse), "quantity", 2),
+                        Map.of("product", Map.of("id", teclado), "quantity", 1))))
+                .when().post("/orders")
+                .then().statusCode(201).extract().jsonPath();
+        int orderId = order.getInt("id");
+        assertTotal("65.00", order);
+        int mouseItem = itemId(order, mouse);
+        int tecladoItem = itemId(order, teclado);
+
+        order = putQuantity(orderId, mouseItem, 5).then().statusCode(200).extract().jsonPath();
+        assertEquals(5, order.getInt("items.find { it.id == " + mouseItem + " }.quantity"));
+        assertTotal("102.50", order);
+
+        order = putQuantity(orderId, tecladoItem, 0).then().statusCode(200).extract().jsonPath();
+        assertEquals(List.of(mouseItem), order.getList("items.id", Integer.class));
+        assertTotal("62.50", order);
+
+        // O pedido lido de novo confirma o que a resposta trouxe
+        order = given().when().get("/orders/" + orderId).then().statusCode(200).extract().jsonPath();
+        assertEquals(List.of(mouseItem), order.getList("items.id", Integer.class));
+        assertEquals(5, order.getInt("items[0].quantity"));
+        assertTotal("62.50", order);
+
+        putQuantity(orderId, tecladoItem, 1).then().statusCode(404);
+    }
+
+    @Test
+    void quantitiesAboveTheLimitAreRejected() {
+        int product = createProduct("Cabo itens", "1.00");
+        int orderId = given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "items", List.of(Map.of("product", Map.of("id", product), "quantity", 1))))
+                .when().post("/orders")
+                .then().statusCode(201).extract().path("id");
+        int itemId = given().when().get("/orders/" + orderId).then().extract().path("items[0].id");
+
+        putQuantity(orderId, itemId, OrderItem.MAX_QUANTITY + 1).then().statusCode(400);
+        putQuantity(orderId, itemId, -1).then().statusCode(400);
+        // Sem corpo: 400 da validação, não NullPointerException
+        given().contentType(ContentType.JSON)
+                .when().put("/orders/" + orderId + "/items/" + itemId)
+                .then().statusCode(400);
+        putQuantity(orderId, itemId, OrderItem.MAX_QUANTITY).then().statusCode(200);
+
+        // A soma com a quantidade atual passaria do limite (ou estouraria int)
+        given().when().post("/orders/" + orderId + "/products/" + product + "?quantity=1").then().statusCode(400);
+        given().when().post("/orders/" + orderId + "/products/" + product + "?quantity=" + Integer.MAX_VALUE).then().statusCode(400);
+
+        JsonPath order = given().when().get("/orders/" + orderId).then().statusCode(200).extract().jsonPath();
+        assertEquals(OrderItem.MAX_QUANTITY, order.getInt("items[0].quantity"));
+        assertTotal("1000000.00", order);
+    }
+
+    private static io.restassured.response.Response putQuantity(int orderId, int itemId, int quantity) {
+        return given().contentType(ContentType.JSON)
+                .body(Map.of("quantity", quantity))
+                .when().put("/orders/" + orderId + "/items/" + itemId);
+    }
+
+    private static int createProduct(String name, String price) {
+        return given().contentType(ContentType.JSON)
+                .body(Map.of("name", name, "price", new BigDecimal(price)))
+                .when().post("/products")
+                .then().statusCode(201).extract().path("id");
+    }
+
+    private static int itemId(JsonPath order, int productId) {
+        return order.getInt("items.find { it.productId == " + productId + " }.id");
+    }
+
+    private static void assertTotal(String expected, JsonPath order) {
+        assertEquals(0, new BigDecimal(expected).compareTo(new BigDecimal(order.getString("totalAmount"))),
+                () -> "total " + order.getString("totalAmount") + ", esperado " + expected);
+    }
+}
@@ -0,0 +1,103 @@
+package entrega.controllers;
+
+import entrega.models.enums.OrderStatus;
+import entrega.monitoring.SqlAssertions;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class OrderStatsTest {
+
+    @Test
+    void statsAreServedFromMemory() {
+        assertEquals(0, SqlAssertions.statementCount(
+                given().when().get("/orders/stats").then().statusCode(200).extract()));
+    }
+
+    @Test
+    void statsFollowCreateUpdateAndDelete() {
+        JsonPath before = stats();
+
+        int id = given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "items", List.of(Map.of("product", Map.of("id", 2), "quantity", 2))))
+                .when().post("/orders")
+                .then().statusCode(201).extract().path("id");
+        JsonPath created = stats();
+        assertEquals(before.getLong("totalOrders") + 1, created.getLong("totalOrders"));
+        assertEquals(before.getLong("countByStatus.NEW") + 1, created.getLong("countByStatus.NEW"));
+        assertEquals(before.getLong("ordersToday") + 1, created.getLong("ordersToday"));
+        assertRevenue(revenue(before).add(new BigDecimal("300.00")), created);
+
+        given().contentType(ContentType.JSON).when().post("/orders/" + id + "/products/2").then().statusCode(200);
+        assertRevenue(revenue(before).add(new BigDecimal("450.00")), stats());
+
+        given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "status", "CANCELLED"))
+                .when().put("/orders/" + id)
+                .then().statusCode(200);
+        JsonPath cancelled = stats();
+        assertEquals(before.getLong("countByStatus.NEW"), cancelled.getLong("countByStatus.NEW"));
+        assertEquals(before.getLong("countByStatus.CANCELLED") + 1, cancelled.getLong("countByStatus.CANCELLED"));
+        assertRevenue(revenue(before), cancelled);
+
+        given().when().delete("/orders/" + id).then().statusCode(204);
+        JsonPath deleted = stats();
+        assertEquals(before.getLong("totalOrders"), deleted.getLong("totalOrders"));
+        assertEquals(before.getLong("ordersToday"), deleted.getLong("ordersToday"));
+        assertRevenue(revenue(before), deleted);
+    }
+
+    @Test
+    void statsFollowCustomerDeletion() {
+        int customerId = given().contentType(ContentType.JSON)
+                .body(Map.of("name", "Cliente Estatísticas", "email", "estatisticas@email.com"))
+                .when().post("/customers")
+                .then().statusCode(201).extract().path("id");
+        JsonPath before = stats();
+        for (int i = 0; i < 2; i++) {
+            given().contentType(ContentType.JSON)
+                    .body(Map.of("customer", Map.of("id", customerId), "items", List.of(Map.of("product", Map.of("id", 2), "quantity", 1))))
+                    .when().post("/orders")
+                    .then().statusCode(201);
+        }
+        assertEquals(before.getLong("totalOrders") + 2, stats().getLong("totalOrders"));
+
+        // Os pedidos saem em cascata com o cliente
+        given().when().delete("/customers/" + customerId).then().statusCode(204);
+        JsonPath deleted = stats();
+        assertEquals(before.getLong("totalOrders"), deleted.getLong("totalOrders"));
+        assertEquals(before.getLong("countByStatus.NEW"), deleted.getLong("countByStatus.NEW"));
+        assertEquals(before.getLong("ordersToday"), deleted.getLong("ordersToday"));
+        assertRevenue(revenue(before), deleted);
+    }
+
+    @Test
+    void countsMatchTheDatabase() {
+        JsonPath stats = stats();
+        for (OrderStatus status : OrderStatus.values()) {
+            int stored = given().when().get("/orders/status/" + status).then().extract().jsonPath().getList("$").size();
+            assertEquals(stored, stats.getLong("countByStatus." + status), status.name());
+        }
+    }
+
+    private static JsonPath stats() {
+        return given().when().get("/orders/stats").then().statusCode(200).extract().jsonPath();
+    }
+
+    private static BigDecimal revenue(JsonPath stats) {
+        return new BigDecimal(stats.getString("totalRevenue"));
+    }
+
+    private static void assertRevenue(BigDecimal expected, JsonPath stats) {
+        assertEquals(0, expected.compareTo(revenue(stats)), () -> "receita " + revenue(stats) + ", esperada " + expected);
+    }
+}
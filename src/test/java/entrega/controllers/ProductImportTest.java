@@ -0,0 +1,226 @@
+package entrega.controllers;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class ProductImportTest {
+
+    @TestHTTPResource("/products/import")
+    URI importUri;
+
+    @Test
+    void importsCsvWithUpsertByName() {
+        String csv = """
+                name,price,description
+                Importado CSV,10.50,"Primeiro, com vírgula"
+                Sem preço,,
+                Importado CSV,11.00,Repetido no mesmo arquivo
+                Monitor 24\",1200.00,Monitor Full HD 24 polegadas
+                """;
+
+        given().contentType(ProductController.CSV_MEDIA_TYPE).body(csv)
+                .when().post("/products/import")
+                .then()
+                .statusCode(200)
+                .body("inserted", equalTo(1))
+                .body("updated", equalTo(0))
+                .body("unchanged", equalTo(1))
+                .body("rejected", equalTo(2))
+                .body("errors[0].line", equalTo(3))
+                .body("errors[0].message", equalTo("Preço é obrigatório"))
+                .body("errors[1].line", equalTo(4))
+                .body("errors[1].message", equalTo("Nome repetido no arquivo (linha 2)"));
+
+        given().queryParam("name", "importado csv")
+                .when().get("/products/search")
+                .then()
+                .statusCode(200)
+                .body("size()", equalTo(1))
+                .body("price", hasItem(10.50f))
+                .body("description", hasItem("Primeiro, com vírgula"));
+    }
+
+    @Test
+    void importsNdjsonAndUpdatesExistingProducts() {
+        String ndjson = """
+                {"name":"Importado NDJSON","price":99.90}
+                {"name":"Importado NDJSON","price":89.90}
+                {"name":"X","price":1}
+                não é json
+                """;
+
+        given().contentType(NdjsonWriter.MEDIA_TYPE).body(ndjson.getBytes(StandardCharsets.UTF_8))
+                .when().post("/products/import")
+                .then()
+                .statusCode(200)
+                .body("inserted", equalTo(1))
+                .body("updated", equalTo(0))
+                .body("rejected", equalTo(3))
+                .body("errors.message", hasItem("Nome repetido no arquivo (linha 1)"))
+                .body("errors.message", hasItem("Nome deve ter entre 2 e 100 caracteres"))
+                .body("errors.message", hasItem("JSON inválido"));
+
+        given().contentType(NdjsonWriter.MEDIA_TYPE).body("{\"name\":\"Importado NDJSON\",\"price\":79.90}\n".getBytes(StandardCharsets.UTF_8))
+                .when().post("/products/import")
+                .then()
+                .statusCode(200)
+                .body("inserted", equalTo(0))
+                .body("updated", equalTo(1));
+
+        // O catálogo em memória (GET /products/{id}) recebe as alterações de cada bloco importado
+        int id = given().queryParam("name", "Importado NDJSON")
+                .when().get("/products/search")
+                .then().statusCode(200).extract().path("[0].id");
+        given().when().get("/products/" + id)
+                .then()
+                .statusCode(200)
+                .body("price", equalTo(79.90f));
+    }
+
+    @Test
+    void concurrentImportsOfTheSameFileDoNotDuplicateProducts() throws Exception {
+        String ndjson = """
+                {"name":"Importado Concorrente A","price":10}
+                {"name":"Importado Concorrente B","price":20}
+                """;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                statuses.add(executor.submit(() -> given().contentType(NdjsonWriter.MEDIA_TYPE)
+                        .body(ndjson.getBytes(StandardCharsets.UTF_8))
+                        .when().post("/products/import")
+                        .then().extract().statusCode()));
+            }
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        given().queryParam("name", "Importado Concorrente")
+                .when().get("/products/search")
+                .then()
+                .statusCode(200)
+                .body("size()", equalTo(2));
+    }
+
+    // Só a importação passa do limite global de corpo (quarkus.http.limits.max-body-size, 10 MB por padrão)
+    @Test
+    void onlyTheImportAcceptsBodiesAboveTheGlobalLimit() {
+        byte[] blankLines = new byte[11 * 1024 * 1024];
+        Arrays.fill(blankLines, (byte) '\n');
+        given().contentType(NdjsonWriter.MEDIA_TYPE).body(blankLines)
+                .when().post("/products/import")
+                .then()
+                .statusCode(200)
+                .body("inserted", equalTo(0))
+                .body("rejected", equalTo(0));
+
+        byte[] batch = new byte[11 * 1024 * 1024];
+        Arrays.fill(batch, (byte) ' ');
+        batch[0] = '[';
+        batch[batch.length - 1] = ']';
+        given().contentType("application/json").body(batch)
+                .when().post("/orders/batch")
+                .then()
+                .statusCode(413);
+    }
+
+    @Test
+    void rejectsUnsupportedContentType() {
+        given().contentType("application/json").body("[]")
+                .when().post("/products/import")
+                .then()
+                .statusCode(415);
+    }
+
+    // Mesmo formato de erro e métricas dos endpoints JAX-RS
+    @Test
+    void rejectsCsvWithoutRequiredColumns() {
+        given().contentType(ProductController.CSV_MEDIA_TYPE).body("nome,preco\nA,1\n")
+                .when().post("/products/import")
+                .then()
+                .statusCode(400)
+                .body("message", startsWith("Parâmetros inválidos: "));
+
+        given().when().get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("uri=\"/products/import\""))
+                .body(containsString("api_errors_total{exception=\"IllegalArgumentException\",resource=\"ProductImportRoute.handle\",status=\"400\"}"));
+    }
+
+    // Compara POST /products (um produto por requisição) com a importação NDJSON em streaming.
+    // Executar com: ./mvnw test -Dtest=ProductImportTest -Dbenchmark=true [-Dbenchmark.rows=1000000]
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkSingleVersusImport() throws IOException, InterruptedException {
+        int rows = Integer.getInteger("benchmark.rows", 100_000);
+        int singleRows = Math.min(rows, 2000);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < singleRows; i++) {
+            given().contentType("application/json")
+                    .body(Map.of("name", "Individual " + i, "price", 10 + i % 90))
+                    .when().post("/products")
+                    .then().statusCode(201);
+        }
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        Path file = Files.createTempFile("produtos", ".ndjson");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < rows; i++) {
+                    writer.write("{\"name\":\"Importado " + i + "\",\"price\":" + (10 + i % 90)
+                            + ",\"description\":\"Produto gerado para o benchmark\"}\n");
+                }
+            }
+            // Corpo enviado direto do arquivo, sem carregar em memória
+            HttpRequest request = HttpRequest.newBuilder(importUri)
+                    .header("Content-Type", NdjsonWriter.MEDIA_TYPE)
+                    .POST(HttpRequest.BodyPublishers.ofFile(file))
+                    .build();
+            start = System.nanoTime();
+            HttpResponse<String> response = HttpClient.newHttpClient()
+                    .send(request, HttpResponse.BodyHandlers.ofString());
+            double importSeconds = (System.nanoTime() - start) / 1e9;
+            assertEquals(200, response.statusCode(), response.body());
+
+            System.out.printf("POST /products:        %d produtos em %.2fs (%.0f produtos/s)%n",
+                    singleRows, singleSeconds, singleRows / singleSeconds);
+            System.out.printf("POST /products/import: %d produtos em %.2fs (%.0f produtos/s) %s%n",
+                    rows, importSeconds, rows / importSeconds, response.body());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
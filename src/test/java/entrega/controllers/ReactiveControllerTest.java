@@ -0,0 +1,57 @@
+package entrega.controllers;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Os endpoints reativos devem responder exatamente como os bloqueantes equivalentes
+@QuarkusTest
+class ReactiveControllerTest {
+
+    @Test
+    void productsMatchBlockingEndpoints() {
+        assertSameBody("/products?limit=2", "/reactive/products?limit=2");
+        assertSameBody("/products/1", "/reactive/products/1");
+        assertSameBody("/products/price-range?minPrice=100&maxPrice=500", "/reactive/products/price-range?minPrice=100&maxPrice=500");
+        // Limites fora do intervalo de long respondem normalmente
+        assertSameBody("/products/price-range?minPrice=-1E30&maxPrice=1E30", "/reactive/products/price-range?minPrice=-1E30&maxPrice=1E30");
+
+        given().when().get("/reactive/products?limit=2")
+                .then()
+                .statusCode(200)
+                .header(Pagination.NEXT_CURSOR_HEADER, notNullValue());
+        given().when().get("/reactive/products/999999")
+                .then()
+                .statusCode(404);
+        given().when().get("/reactive/products/price-range?minPrice=500&maxPrice=100")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void ordersMatchBlockingEndpoints() {
+        assertSameBody("/orders?limit=2", "/reactive/orders?limit=2");
+        assertSameBody("/orders/1", "/reactive/orders/1");
+        assertSameBody("/orders/customer/1", "/reactive/orders/customer/1");
+
+        given().when().get("/reactive/orders/status/SHIPPED")
+                .then()
+                .statusCode(200)
+                .body("id", hasSize(1))
+                .body("[0].customerName", equalTo("João Santos"));
+        given().when().get("/reactive/orders/999999")
+                .then()
+                .statusCode(404);
+    }
+
+    private static void assertSameBody(String blocking, String reactive) {
+        String expected = given().when().get(blocking).then().statusCode(200).extract().asString();
+        String actual = given().when().get(reactive).then().statusCode(200).extract().asString();
+        assertEquals(expected, actual);
+    }
+}
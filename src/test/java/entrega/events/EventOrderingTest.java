@@ -0,0 +1,43 @@
+package entrega.events;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventOrderingTest {
+
+    @Test
+    void olderVersionsAndDeletedIdsAreRejected() {
+        EventOrdering ordering = new EventOrdering();
+        assertTrue(ordering.accept(1L, 0L));
+        assertTrue(ordering.accept(1L, 2L));
+        assertFalse(ordering.accept(1L, 1L));
+        // Mesma versão: reaplicar é inofensivo
+        assertTrue(ordering.accept(1L, 2L));
+
+        ordering.delete(1L);
+        assertFalse(ordering.accept(1L, 3L));
+    }
+
+    @Test
+    void resetKeepsRecentDeletions() {
+        EventOrdering ordering = new EventOrdering();
+        ordering.accept(1L, 5L);
+        ordering.delete(2L);
+
+        ordering.reset();
+        assertTrue(ordering.accept(1L, 1L));
+        assertFalse(ordering.accept(2L, 0L));
+    }
+
+    @Test
+    void onlyTheMostRecentDeletionsAreKept() {
+        EventOrdering ordering = new EventOrdering();
+        for (long id = 0; id <= EventOrdering.MAX_TOMBSTONES; id++) {
+            ordering.delete(id);
+        }
+        assertTrue(ordering.accept(0L, 0L));
+        assertFalse(ordering.accept((long) EventOrdering.MAX_TOMBSTONES, 0L));
+    }
+}
@@ -0,0 +1,92 @@
+package entrega.fulfilment;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@QuarkusTest
+@TestProfile(FulfilmentPipelineTest.PipelineProfile.class)
+class FulfilmentPipelineTest {
+
+    public static class PipelineProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "api.fulfilment.enabled", "true",
+                    "api.fulfilment.stages", "validate:PROCESSING,ship:SHIPPED",
+                    "api.fulfilment.batch-size", "10",
+                    "api.fulfilment.linger", "5ms");
+        }
+    }
+
+    @Test
+    void createdOrdersMoveThroughTheStagesInBatches() {
+        List<Map<String, Object>> orders = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            orders.add(Map.of("customer", Map.of("id", 1 + i % 3), "items", List.of(Map.of("product", Map.of("id", 2), "quantity", 1))));
+        }
+        List<Integer> ids = given().contentType(ContentType.JSON).body(orders)
+                .when().post("/orders/batch")
+                .then().statusCode(200).extract().jsonPath().getList("results.id", Integer.class);
+        assertEquals(25, ids.size());
+
+        for (int id : ids) {
+            awaitStatus(id, "SHIPPED");
+        }
+        // Pedido do import.sql que já estava NEW na inicialização
+        awaitStatus(1, "SHIPPED");
+
+        given().when().get("/q/metrics").then().statusCode(200)
+                .body(containsString("api_fulfilment_queue_depth{stage=\"validate\"}"))
+                .body(containsString("api_fulfilment_latency_seconds_count{stage=\"ship\"}"))
+                .body(containsString("api_fulfilment_orders_total{result=\"moved\",stage=\"ship\"}"));
+    }
+
+    @Test
+    void cancelledOrdersLeaveThePipeline() {
+        int id = given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "items", List.of(Map.of("product", Map.of("id", 3), "quantity", 1))))
+                .when().post("/orders")
+                .then().statusCode(201).extract().path("id");
+        given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "status", "CANCELLED"))
+                .when().put("/orders/" + id)
+                .then().statusCode(200);
+
+        int next = given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 2), "items", List.of()))
+                .when().post("/orders")
+                .then().statusCode(201).extract().path("id");
+        awaitStatus(next, "SHIPPED");
+        assertEquals("CANCELLED", given().when().get("/orders/" + id).then().extract().path("status"));
+    }
+
+    private static void awaitStatus(int id, String status) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String current = null;
+        while (System.currentTimeMillis() < deadline) {
+            current = given().when().get("/orders/" + id).then().statusCode(200).extract().path("status");
+            if (status.equals(current)) {
+                return;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        fail("Pedido " + id + " ficou " + current + ", esperado " + status);
+    }
+}
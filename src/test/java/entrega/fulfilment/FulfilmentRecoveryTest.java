@@ -0,0 +1,80 @@
+package entrega.fulfilment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@QuarkusTest
+@TestProfile(FulfilmentRecoveryTest.TinyQueueProfile.class)
+class FulfilmentRecoveryTest {
+
+    // Fila de um pedido: quase todo o lote criado de uma vez é descartado na entrada
+    public static class TinyQueueProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "api.fulfilment.enabled", "true",
+                    "api.fulfilment.stages", "validate:PROCESSING,ship:SHIPPED",
+                    "api.fulfilment.queue-capacity", "1",
+                    "api.fulfilment.batch-size", "10",
+                    "api.fulfilment.linger", "5ms",
+                    "api.fulfilment.recovery-interval", "50ms");
+        }
+    }
+
+    @Inject
+    MeterRegistry registry;
+
+    @Test
+    void droppedOrdersArePickedUpByTheRecoveryScan() {
+        List<Map<String, Object>> orders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            orders.add(Map.of("customer", Map.of("id", 1 + i % 3), "items", List.of(Map.of("product", Map.of("id", 2), "quantity", 1))));
+        }
+        long start = System.nanoTime();
+        List<Integer> ids = given().contentType(ContentType.JSON).body(orders)
+                .when().post("/orders/batch")
+                .then().statusCode(200).extract().jsonPath().getList("results.id", Integer.class);
+        assertEquals(20, ids.size());
+        // A criação não espera pela fila cheia
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+
+        Counter dropped = registry.find("api.fulfilment.dropped").counter();
+        assertTrue(dropped != null && dropped.count() > 0, "nenhum pedido descartado na entrada");
+        for (int id : ids) {
+            awaitStatus(id, "SHIPPED");
+        }
+    }
+
+    private static void awaitStatus(int id, String status) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String current = null;
+        while (System.currentTimeMillis() < deadline) {
+            current = given().when().get("/orders/" + id).then().statusCode(200).extract().path("status");
+            if (status.equals(current)) {
+                return;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        fail("Pedido " + id + " ficou " + current + ", esperado " + status);
+    }
+}
@@ -0,0 +1,33 @@
+package entrega.load;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+// Mesma carga nos dois modos de execução dos controllers (pool de workers x virtual threads).
+// Executar com: ./mvnw test -Dtest='*ExecutionModeLoadTest' -Dbenchmark=true
+//   [-Dload.concurrency=1000] [-Dload.seconds=10]
+abstract class ExecutionModeLoadTest {
+
+    private static final String[] PATHS = {"orders/1", "orders?limit=50", "profiles?limit=50", "products/1"};
+
+    @TestHTTPResource("/")
+    URI baseUri;
+
+    abstract String mode();
+
+    @Test
+    void runLoad() throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 1000);
+        int seconds = Integer.getInteger("load.seconds", 10);
+        LoadRunner runner = new LoadRunner(baseUri);
+
+        System.out.printf("Modo: %s, %d clientes simultâneos%n", mode(), concurrency);
+        LoadRunner.printHeader();
+        for (String path : PATHS) {
+            runner.run(path, concurrency, 2);
+            runner.run(path, concurrency, seconds).print(path);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package entrega.load;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+
+// Compara requisições por segundo e latência p99 entre os endpoints bloqueantes e os reativos (/reactive/...).
+// Executar com: ./mvnw test -Dtest=LoadComparisonTest -Dbenchmark=true
+//   [-Dload.concurrency=200] [-Dload.seconds=10]
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoadComparisonTest {
+
+    @TestHTTPResource("/")
+    URI baseUri;
+
+    @Test
+    void compareBlockingAndReactive() throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        int seconds = Integer.getInteger("load.seconds", 10);
+        LoadRunner runner = new LoadRunner(baseUri);
+
+        String[][] pairs = {
+            {"products/1", "reactive/products/1"},
+            {"products?limit=50", "reactive/products?limit=50"},
+            {"orders/1", "reactive/orders/1"},
+            {"orders?limit=50", "reactive/orders?limit=50"},
+        };
+        LoadRunner.printHeader();
+        for (String[] pair : pairs) {
+            for (String path : pair) {
+                // Aquecimento curto antes de cada medição
+                runner.run(path, concurrency, 2);
+                runner.run(path, concurrency, seconds).print(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package entrega.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Carga em malha fechada para as comparações de desempenho: cada cliente virtual envia a próxima
+// requisição ao receber a resposta, e as latências de todos são juntadas para calcular os percentis
+class LoadRunner {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final URI baseUri;
+
+    LoadRunner(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    Result run(String path, int concurrency, int seconds) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                    // Última posição guarda a quantidade de erros
+                    long[] result = Arrays.copyOf(latencies, count + 1);
+                    result[count] = errors;
+                    return result;
+                }));
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long errors = 0;
+        List<long[]> parts = new ArrayList<>(concurrency);
+        int total = 0;
+        for (Future<long[]> future : clients) {
+            long[] part = future.get();
+            errors += part[part.length - 1];
+            parts.add(part);
+            total += part.length - 1;
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, latencies, offset, part.length - 1);
+            offset += part.length - 1;
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors, elapsed);
+    }
+
+    static void printHeader() {
+        System.out.printf("%-34s %10s %10s %10s %8s%n", "endpoint", "req/s", "p50 (ms)", "p99 (ms)", "erros");
+    }
+
+    record Result(long[] sortedLatencies, long errors, double seconds) {
+
+        double throughput() {
+            return sortedLatencies.length / seconds;
+        }
+
+        double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+
+        void print(String label) {
+            System.out.printf("%-34s %10.0f %10.2f %10.2f %8d%n",
+                    label, throughput(), percentile(50), percentile(99), errors);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package entrega.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Requisições do postman_collection.json indexadas por "Pasta/Nome"; as variáveis {{...}} da URL
+// e do corpo são substituídas a cada envio
+final class PostmanCollection {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{(\\w+)}}");
+
+    record Request(String folder, String name, String method, String url, Map<String, String> headers, String body) {
+
+        // Rótulo do relatório: método e caminho, sem a URL base nem a query string
+        String endpoint() {
+            String path = url.substring(url.indexOf("}}") + 2);
+            int query = path.indexOf('?');
+            if (query >= 0) {
+                path = path.substring(0, query);
+            }
+            return method + " " + VARIABLE.matcher(path).replaceAll("{$1}");
+        }
+    }
+
+    private final Map<String, Request> requests;
+    private final Map<String, String> variables;
+
+    private PostmanCollection(Map<String, Request> requests, Map<String, String> variables) {
+        this.requests = requests;
+        this.variables = variables;
+    }
+
+    static PostmanCollection read(Path file, ObjectMapper mapper) throws IOException {
+        JsonNode root = mapper.readTree(file.toFile());
+        Map<String, Request> requests = new LinkedHashMap<>();
+        for (JsonNode folder : root.path("item")) {
+            for (JsonNode item : folder.path("item")) {
+                JsonNode request = item.path("request");
+                Map<String, String> headers = new HashMap<>();
+                for (JsonNode header : request.path("header")) {
+                    headers.put(header.path("key").asText(), header.path("value").asText());
+                }
+                JsonNode url = request.path("url");
+                Request parsed = new Request(
+                        folder.path("name").asText(),
+                        item.path("name").asText(),
+                        request.path("method").asText(),
+                        url.isObject() ? url.path("raw").asText() : url.asText(),
+                        headers,
+                        request.path("body").path("raw").asText(""));
+                requests.put(parsed.folder() + "/" + parsed.name(), parsed);
+            }
+        }
+        Map<String, String> variables = new HashMap<>();
+        for (JsonNode variable : root.path("variable")) {
+            variables.put(variable.path("key").asText(), variable.path("value").asText());
+        }
+        return new PostmanCollection(requests, variables);
+    }
+
+    Request get(String key) {
+        Request request = requests.get(key);
+        if (request == null) {
+            throw new IllegalArgumentException("Requisição não encontrada na coleção: " + key);
+        }
+        return request;
+    }
+
+    String variable(String name) {
+        return variables.get(name);
+    }
+
+    static String substitute(String text, Map<String, String> values) {
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String value = values.get(matcher.group(1));
+            if (value == null) {
+                throw new IllegalStateException("Variável sem valor: " + matcher.group(1));
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    // URLs da coleção trazem acentos e espaços sem codificação (ex.: /profiles/city/São Paulo)
+    static URI toUri(String url) {
+        int pathStart = url.indexOf('/', url.indexOf("://") + 3);
+        int queryStart = url.indexOf('?');
+        URI base = URI.create(url.substring(0, pathStart));
+        String path = queryStart < 0 ? url.substring(pathStart) : url.substring(pathStart, queryStart);
+        String query = queryStart < 0 ? null : url.substring(queryStart + 1);
+        try {
+            return URI.create(new URI(base.getScheme(), base.getRawAuthority(), path, query, null).toASCIIString());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("URL inválida: " + url, e);
+        }
+    }
+}
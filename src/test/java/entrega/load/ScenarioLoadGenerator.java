@@ -0,0 +1,395 @@
+package entrega.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Gerador de carga por cenários: reproduz os fluxos do postman_collection.json contra uma instância já
+// iniciada e imprime, por endpoint, vazão e percentis de latência (HdrHistogram).
+//
+// Uso: ./mvnw test -Pload -DskipTests -Dload.concurrency=50 -Dload.rate=100 -Dload.seconds=60
+//
+// Sem load.rate (ou 0) a carga é em malha fechada: load.concurrency clientes repetem cenários sem pausa.
+// Com load.rate os cenários começam a uma taxa fixa por segundo, limitados a load.concurrency em paralelo;
+// nesse modo a latência do cenário é medida a partir do horário previsto de início, incluindo a espera.
+public class ScenarioLoadGenerator {
+
+    // Cenários em passos "Pasta/Nome" da coleção; a proporção de cada um vem de load.mix
+    private static final Map<String, List<String>> SCENARIOS = Map.of(
+            "navegacao", List.of(
+                    "Products/Listar todos os produtos",
+                    "Products/Buscar produtos por nome",
+                    "Products/Buscar produtos por faixa de preço",
+                    "Products/Buscar produto por ID",
+                    "Orders/Buscar pedidos por cliente"),
+            "compra", List.of(
+                    "Customers/Criar novo cliente",
+                    "Profiles/Criar novo perfil",
+                    "Orders/Criar novo pedido",
+                    "Orders/Adicionar produto ao pedido",
+                    "Orders/Alterar quantidade de um item",
+                    "Orders/Buscar pedido por ID"),
+            "atendimento", List.of(
+                    "Customers/Buscar clientes por nome",
+                    "Customers/Buscar cliente por ID",
+                    "Profiles/Buscar perfil por cliente",
+                    "Orders/Buscar pedidos por cliente",
+                    "Orders/Buscar pedido por ID"),
+            "backoffice", List.of(
+                    "Orders/Listar todos os pedidos",
+                    "Orders/Buscar pedidos por status",
+                    "Orders/Estatísticas de pedidos",
+                    "Analytics/Produtos mais vendidos",
+                    "Profiles/Buscar perfis por estado",
+                    "Products/Criar novo produto",
+                    "Products/Atualizar produto"));
+
+    // Variável preenchida com o ID devolvido por um POST de criação em cada pasta
+    private static final Map<String, String> CREATED_ID_VARIABLE = Map.of(
+            "Customers", "customerId",
+            "Products", "productId",
+            "Orders", "orderId",
+            "Profiles", "profileId");
+
+    // Tabelas do import.sql cujos IDs são sorteados nos cenários
+    private static final Map<String, String> SEEDED_TABLES = Map.of(
+            "customers", "customerId",
+            "products", "productId",
+            "orders", "orderId");
+
+    private static final Pattern SEED_INSERT = Pattern.compile("INSERT INTO (\\w+) \\(id,[^)]*\\) VALUES \\((\\d+),");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final double rate;
+    private final int seconds;
+    private final int warmupSeconds;
+    private final double seededRatio;
+    private final PostmanCollection collection;
+    private final Map<String, IdPool> ids = new HashMap<>();
+    private final String[] mix;
+    private final int[] cumulativeWeights;
+
+    private final Map<String, Stats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Stats> scenarios = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong uniqueSuffix = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    ScenarioLoadGenerator() throws IOException {
+        collection = PostmanCollection.read(Path.of(System.getProperty("load.collection", "postman_collection.json")), mapper);
+        baseUrl = System.getProperty("load.base-url", collection.variable("localUrl"));
+        concurrency = Integer.getInteger("load.concurrency", 50);
+        rate = Double.parseDouble(System.getProperty("load.rate", "0"));
+        seconds = Integer.getInteger("load.seconds", 60);
+        warmupSeconds = Integer.getInteger("load.warmup", 10);
+        seededRatio = Double.parseDouble(System.getProperty("load.seeded-ratio", "0.5"));
+
+        String[] entries = System.getProperty("load.mix", "navegacao:60,compra:25,atendimento:10,backoffice:5").split(",");
+        mix = new String[entries.length];
+        cumulativeWeights = new int[entries.length];
+        int total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].trim().split(":");
+            if (!SCENARIOS.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Cenário desconhecido: " + parts[0] + " (disponíveis: " + SCENARIOS.keySet() + ")");
+            }
+            SCENARIOS.get(parts[0]).forEach(collection::get);
+            mix[i] = parts[0];
+            total += Integer.parseInt(parts[1]);
+            cumulativeWeights[i] = total;
+        }
+        loadSeededIds(Path.of(System.getProperty("load.import-sql", "src/main/resources/import.sql")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ScenarioLoadGenerator().run();
+    }
+
+    private void loadSeededIds(Path importSql) throws IOException {
+        Map<String, List<Long>> seeded = new HashMap<>();
+        for (String line : Files.readAllLines(importSql)) {
+            Matcher matcher = SEED_INSERT.matcher(line);
+            if (matcher.find() && SEEDED_TABLES.containsKey(matcher.group(1))) {
+                seeded.computeIfAbsent(SEEDED_TABLES.get(matcher.group(1)), key -> new ArrayList<>())
+                        .add(Long.parseLong(matcher.group(2)));
+            }
+        }
+        for (String variable : SEEDED_TABLES.values()) {
+            List<Long> values = seeded.getOrDefault(variable, List.of());
+            if (values.isEmpty()) {
+                throw new IllegalStateException("Nenhum ID de " + variable + " encontrado em " + importSql);
+            }
+            ids.put(variable, new IdPool(values.stream().mapToLong(Long::longValue).toArray()));
+        }
+    }
+
+    void run() throws Exception {
+        System.out.printf("Carga em %s: %d clientes, %s, %ds (+%ds de aquecimento), mix %s%n",
+                baseUrl, concurrency, rate > 0 ? rate + " cenários/s" : "malha fechada",
+                seconds, warmupSeconds, String.join(",", mix));
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long deadline = measureFrom + Duration.ofSeconds(seconds).toNanos();
+        Thread resetter = Thread.ofVirtual().start(() -> {
+            LockSupport.parkNanos(measureFrom - System.nanoTime());
+            endpoints.values().forEach(Stats::reset);
+            scenarios.values().forEach(Stats::reset);
+            dropped.reset();
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (rate > 0) {
+                openLoop(executor, start, deadline);
+            } else {
+                for (int i = 0; i < concurrency; i++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            runScenario(System.nanoTime());
+                        }
+                    });
+                }
+            }
+        }
+        resetter.join();
+        report((System.nanoTime() - measureFrom) / 1e9);
+    }
+
+    // Taxa de chegada fixa: o cenário i está previsto para start + i / rate, mesmo que o servidor esteja atrasado
+    private void openLoop(ExecutorService executor, long start, long deadline) {
+        Semaphore slots = new Semaphore(concurrency);
+        AtomicInteger waiting = new AtomicInteger();
+        int maxWaiting = concurrency * 10;
+        double interval = 1e9 / rate;
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * interval);
+            if (intended >= deadline) {
+                return;
+            }
+            LockSupport.parkNanos(intended - System.nanoTime());
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                dropped.increment();
+                continue;
+            }
+            executor.submit(() -> {
+                slots.acquireUninterruptibly();
+                waiting.decrementAndGet();
+                try {
+                    runScenario(intended);
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+    }
+
+    private void runScenario(long intendedStart) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (pick >= cumulativeWeights[index]) {
+            index++;
+        }
+        String scenario = mix[index];
+
+        Map<String, String> variables = new HashMap<>();
+        variables.put("baseUrl", baseUrl);
+        variables.put("localUrl", baseUrl);
+        ids.forEach((variable, pool) -> variables.put(variable, Long.toString(pool.pick(random, seededRatio))));
+
+        boolean completed = true;
+        for (String step : SCENARIOS.get(scenario)) {
+            if (!send(collection.get(step), variables)) {
+                completed = false;
+                break;
+            }
+        }
+        scenarios.computeIfAbsent(scenario, key -> new Stats()).record(System.nanoTime() - intendedStart, completed);
+    }
+
+    private boolean send(PostmanCollection.Request template, Map<String, String> variables) {
+        Stats stats = endpoints.computeIfAbsent(template.endpoint(), key -> new Stats());
+        try {
+            String body = prepareBody(template.body(), variables);
+            HttpRequest.Builder request = HttpRequest.newBuilder(PostmanCollection.toUri(PostmanCollection.substitute(template.url(), variables)))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .method(template.method(), body.isEmpty()
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofString(body));
+            template.headers().forEach(request::setHeader);
+
+            long sent = System.nanoTime();
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() < 400;
+            stats.record(System.nanoTime() - sent, success);
+            if (success && "POST".equals(template.method())) {
+                capture(template, response.body(), variables);
+            }
+            return success;
+        } catch (Exception e) {
+            stats.record(0, false);
+            return false;
+        }
+    }
+
+    // Corpos da coleção usam IDs, e-mails e nomes de produto fixos: troca pelos IDs do cenário e por e-mails e
+    // nomes únicos (ambos têm índice único)
+    private String prepareBody(String body, Map<String, String> variables) throws IOException {
+        if (body.isBlank()) {
+            return "";
+        }
+        JsonNode node = mapper.readTree(PostmanCollection.substitute(body, variables));
+        rewrite(node, variables);
+        return mapper.writeValueAsString(node);
+    }
+
+    private void rewrite(JsonNode node, Map<String, String> variables) {
+        if (node instanceof ObjectNode object) {
+            if (object.has("email")) {
+                object.put("email", "carga-" + runId + "-" + uniqueSuffix.incrementAndGet() + "@email.com");
+            }
+            if (object.has("price") && object.get("name") != null && object.get("name").isTextual()) {
+                object.put("name", "Carga " + runId + "-" + uniqueSuffix.incrementAndGet());
+            }
+            if (object.get("customer") instanceof ObjectNode customer && customer.has("id")) {
+                customer.put("id", Long.parseLong(variables.get("customerId")));
+            }
+            if (object.get("product") instanceof ObjectNode product && product.has("id")) {
+                product.put("id", ids.get("productId").pick(ThreadLocalRandom.current(), seededRatio));
+            }
+        }
+        node.forEach(child -> rewrite(child, variables));
+    }
+
+    // Entidades criadas passam a ser usadas pelos passos seguintes e sorteadas pelos próximos cenários
+    private void capture(PostmanCollection.Request template, String body, Map<String, String> variables) throws IOException {
+        String variable = CREATED_ID_VARIABLE.get(template.folder());
+        JsonNode created = mapper.readTree(body);
+        if (variable == null || !created.has("id")) {
+            return;
+        }
+        long id = created.get("id").asLong();
+        variables.put(variable, Long.toString(id));
+        IdPool pool = ids.get(variable);
+        if (pool != null) {
+            pool.add(id);
+        }
+        JsonNode items = created.path("items");
+        if (items.size() > 0) {
+            variables.put("itemId", items.get(0).path("id").asText());
+        }
+    }
+
+    private void report(double elapsed) {
+        System.out.println();
+        printHeader("endpoint");
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> stats.print(endpoint, elapsed));
+        System.out.println();
+        printHeader("cenário");
+        new TreeMap<>(scenarios).forEach((scenario, stats) -> stats.print(scenario, elapsed));
+        if (dropped.sum() > 0) {
+            System.out.printf("%nCenários descartados por excesso de fila: %d%n", dropped.sum());
+        }
+    }
+
+    private static void printHeader(String label) {
+        System.out.printf("%-42s %8s %9s %9s %9s %9s %9s %9s %7s%n",
+                label, "total", "req/s", "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99.9", "máx", "erros");
+    }
+
+    // Latências em microssegundos; o Recorder permite zerar o histograma ao fim do aquecimento sem travar os clientes
+    private static final class Stats {
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long nanos, boolean success) {
+            if (success) {
+                recorder.recordValue(Math.max(1, nanos / 1000));
+            } else {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+
+        void print(String label, double elapsed) {
+            Histogram histogram = recorder.getIntervalHistogram();
+            System.out.printf("%-42s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                    label,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / elapsed,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0,
+                    errors.sum());
+        }
+    }
+
+    // IDs do import.sql mais os últimos IDs criados durante a carga (buffer circular)
+    private static final class IdPool {
+        private static final int CAPACITY = 4096;
+
+        private final long[] seeded;
+        private final AtomicLongArray generated = new AtomicLongArray(CAPACITY);
+        private final AtomicInteger added = new AtomicInteger();
+
+        IdPool(long[] seeded) {
+            this.seeded = seeded;
+        }
+
+        void add(long id) {
+            generated.set(Math.floorMod(added.getAndIncrement(), CAPACITY), id);
+        }
+
+        long pick(ThreadLocalRandom random, double seededRatio) {
+            int available = Math.min(added.get(), CAPACITY);
+            if (available == 0 || random.nextDouble() < seededRatio) {
+                return seeded[random.nextInt(seeded.length)];
+            }
+            long id = generated.get(random.nextInt(available));
+            // Posição reservada mas ainda não gravada por add()
+            return id != 0 ? id : seeded[random.nextInt(seeded.length)];
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package entrega.load;
+
+import entrega.VirtualThreadsProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestProfile(VirtualThreadsProfile.class)
+class VirtualThreadExecutionModeLoadTest extends ExecutionModeLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
@@ -0,0 +1,14 @@
+package entrega.load;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@QuarkusTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WorkerPoolExecutionModeLoadTest extends ExecutionModeLoadTest {
+
+    @Override
+    String mode() {
+        return "pool de workers";
+    }
+}
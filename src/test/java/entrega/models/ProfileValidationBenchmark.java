@@ -0,0 +1,72 @@
+package entrega.models;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Bean Validation de Profile em cada escrita: inclui os @Pattern de telefone e CEP
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private Profile valid;
+    private Profile invalid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+
+        valid = new Profile();
+        valid.address = "Rua das Flores, 123";
+        valid.phone = "(11) 98765-4321";
+        valid.city = "São Paulo";
+        valid.state = "SP";
+        valid.zipCode = "01234-567";
+
+        invalid = new Profile();
+        invalid.address = "Rua das Flores, 123";
+        invalid.phone = "98765";
+        invalid.city = "São Paulo";
+        invalid.state = "SP";
+        invalid.zipCode = "0123";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Profile>> validProfile() {
+        return validator.validate(valid);
+    }
+
+    // Caminho de erro: além dos regexes, interpola as mensagens das violações
+    @Benchmark
+    public Set<ConstraintViolation<Profile>> invalidProfile() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,36 @@
+package entrega.monitoring;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@QuarkusTest
+class MetricsTest {
+
+    @Test
+    void exposesRouteTemplatesServiceTimersAndErrors() {
+        given().when().get("/orders/1").then().statusCode(200);
+        given().when().get("/orders/999999").then().statusCode(404);
+        given().contentType(ContentType.JSON)
+                .body("{\"customer\": {\"id\": 999999}, \"items\": []}")
+                .when().post("/orders")
+                .then().statusCode(400);
+
+        given().when().get("/q/metrics")
+                .then()
+                .statusCode(200)
+                // Tag uri com o template da rota, nunca o caminho com o ID
+                .body(containsString("uri=\"/orders/{id}\""))
+                .body(not(containsString("uri=\"/orders/1\"")))
+                .body(containsString("api_service_seconds_count{class=\"entrega.services.OrderService\""))
+                .body(containsString("api_errors_total{exception=\"IllegalArgumentException\",resource=\"OrderController.create\",status=\"400\"}"))
+                .body(containsString("hibernate_query_executions_total"))
+                .body(containsString("hibernate_entities_loads_total"))
+                .body(containsString("agroal_active_count"))
+                .body(containsString("agroal_blocking_time_max_milliseconds"));
+    }
+}
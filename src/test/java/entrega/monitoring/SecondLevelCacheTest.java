@@ -0,0 +1,53 @@
+package entrega.monitoring;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static entrega.monitoring.SqlAssertions.statementCount;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Leituras repetidas de entidades de referência saem do cache de segundo nível, e escritas invalidam o cache
+@QuarkusTest
+class SecondLevelCacheTest {
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        int customerId = createCustomer("cache1@email.com");
+
+        // Versão (ETag) e cliente saem do cache; resta a busca do perfil, lado inverso do @OneToOne
+        get("/customers/" + customerId);
+        assertEquals(1, get("/customers/" + customerId));
+
+        // Perfil do import.sql: consulta no cache de consultas e a entidade no cache de segundo nível
+        get("/profiles/customer/1");
+        assertEquals(0, get("/profiles/customer/1"));
+    }
+
+    @Test
+    void updatesAreVisibleAfterCachedRead() {
+        int customerId = createCustomer("cache2@email.com");
+        get("/customers/" + customerId);
+
+        given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Cliente Cache Alterado\", \"email\": \"cache2@email.com\"}")
+                .when().put("/customers/" + customerId)
+                .then().statusCode(200);
+
+        assertEquals("Cliente Cache Alterado",
+                given().when().get("/customers/" + customerId).then().statusCode(200).extract().path("name"));
+    }
+
+    private static int createCustomer(String email) {
+        return given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Cliente Cache\", \"email\": \"" + email + "\"}")
+                .when().post("/customers")
+                .then().statusCode(201)
+                .extract().path("id");
+    }
+
+    private static int get(String path) {
+        return statementCount(given().when().get(path).then().statusCode(200).extract());
+    }
+}
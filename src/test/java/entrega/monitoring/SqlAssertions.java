@@ -0,0 +1,29 @@
+package entrega.monitoring;
+
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Asserções sobre os statements SQL de uma requisição, lidos do header X-Sql-Count (habilitado no perfil de teste)
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    public static int statementCount(ExtractableResponse<Response> response) {
+        String header = response.header(SqlStatisticsFilter.COUNT_HEADER);
+        assertNotNull(header, "Resposta sem o header " + SqlStatisticsFilter.COUNT_HEADER);
+        return Integer.parseInt(header);
+    }
+
+    // Faz um GET e falha se o endpoint executar mais statements que o limite
+    public static void assertMaxStatements(String path, int max) {
+        ExtractableResponse<Response> response = given().when().get(path).then().statusCode(200).extract();
+        int count = statementCount(response);
+        assertTrue(count <= max, () -> "GET " + path + " executou " + count + " statements SQL (máximo " + max
+                + "); verifique associações lazy carregadas item a item (N+1)");
+    }
+}
@@ -0,0 +1,41 @@
+package entrega.monitoring;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static entrega.monitoring.SqlAssertions.assertMaxStatements;
+import static io.restassured.RestAssured.given;
+
+// Número máximo de statements das listagens; os limites não dependem da quantidade de linhas
+@QuarkusTest
+class SqlStatementBudgetTest {
+
+    @Test
+    void listingsDoNotGrowWithRowCount() {
+        // Mais linhas que o import.sql, para que um N+1 apareça como statements extras
+        for (int i = 0; i < 5; i++) {
+            int customerId = given().contentType(ContentType.JSON)
+                    .body("{\"name\": \"Cliente SQL " + i + "\", \"email\": \"sql" + i + "@email.com\"}")
+                    .when().post("/customers")
+                    .then().statusCode(201)
+                    .extract().path("id");
+            given().contentType(ContentType.JSON)
+                    .body("{\"address\": \"Rua das Acácias, " + i + "00\", \"phone\": \"(11) 91234-567" + i + "\", "
+                            + "\"city\": \"Campinas\", \"state\": \"SP\", \"zipCode\": \"13000-000\", "
+                            + "\"customer\": {\"id\": " + customerId + "}}")
+                    .when().post("/profiles")
+                    .then().statusCode(201);
+            given().contentType(ContentType.JSON)
+                    .body("{\"customer\": {\"id\": 1}, \"items\": [{\"product\": {\"id\": 1}}, {\"product\": {\"id\": 2}}]}")
+                    .when().post("/orders")
+                    .then().statusCode(201);
+        }
+
+        // Pedidos e itens: uma consulta para os pedidos (com o cliente) e uma para os itens
+        assertMaxStatements("/orders", 2);
+        assertMaxStatements("/orders/customer/1", 2);
+        // Perfis: o ID do cliente vem da chave estrangeira, sem carregar o cliente
+        assertMaxStatements("/profiles/state/SP", 1);
+    }
+}
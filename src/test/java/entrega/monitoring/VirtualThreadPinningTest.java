@@ -0,0 +1,91 @@
+package entrega.monitoring;
+
+import entrega.VirtualThreadsProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Exercita os métodos @Transactional dos services em virtual threads e falha se alguma delas ficar fixada
+// na thread portadora. A variante curta roda sempre; a paralela, com carga, só com -Dbenchmark=true.
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class VirtualThreadPinningTest {
+
+    @Inject
+    VirtualThreadPinningMonitor monitor;
+
+    @Test
+    void transactionalWritesDoNotPinCarrierThreads() throws Exception {
+        long before = monitor.pinnedCount();
+        for (int i = 0; i < 3; i++) {
+            writeScenario(i);
+        }
+        assertNoPinning(before);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void concurrentTransactionalWritesDoNotPinCarrierThreads() throws Exception {
+        long before = monitor.pinnedCount();
+
+        List<Future<?>> calls = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < 64; i++) {
+                int n = 100 + i;
+                calls.add(clients.submit(() -> writeScenario(n)));
+            }
+        }
+        for (Future<?> call : calls) {
+            call.get();
+        }
+        assertNoPinning(before);
+    }
+
+    // Os eventos JFR chegam ao stream de forma assíncrona: espera a entrega de tudo o que foi gravado até aqui
+    private void assertNoPinning(long before) throws InterruptedException {
+        assertTrue(monitor.awaitDelivery(Duration.ofSeconds(10)), "eventos JFR não entregues ao monitor");
+        assertEquals(before, monitor.pinnedCount(), "Virtual thread fixada em " + monitor.lastLocation());
+    }
+
+    private void writeScenario(int n) {
+        int customerId = given().contentType(ContentType.JSON)
+                .body(Map.of("name", "Cliente Virtual " + n, "email", "virtual" + n + "@email.com"))
+                .when().post("/customers")
+                .then().statusCode(201)
+                .extract().path("id");
+        int productId = given().contentType(ContentType.JSON)
+                .body(Map.of("name", "Produto Virtual " + n, "price", 10 + n))
+                .when().post("/products")
+                .then().statusCode(201)
+                .extract().path("id");
+        int orderId = given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", customerId),
+                        "items", List.of(Map.of("product", Map.of("id", productId), "quantity", 1))))
+                .when().post("/orders")
+                .then().statusCode(201)
+                .extract().path("id");
+        int itemId = given().contentType(ContentType.JSON).when().post("/orders/" + orderId + "/products/" + productId + "?quantity=2")
+                .then().statusCode(200)
+                .extract().path("items[0].id");
+        given().contentType(ContentType.JSON).body(Map.of("quantity", 5))
+                .when().put("/orders/" + orderId + "/items/" + itemId)
+                .then().statusCode(200);
+        given().when().delete("/orders/" + orderId)
+                .then().statusCode(204);
+    }
+}
@@ -0,0 +1,52 @@
+package entrega.repositories;
+
+import entrega.services.CustomerService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Buscas pelas colunas normalizadas, mantidas pelo NormalizedColumnsListener em inserções e alterações
+@QuarkusTest
+class NormalizedColumnsTest {
+
+    @Inject
+    CustomerService customerService;
+
+    @Test
+    void citySearchIgnoresCaseAndAccents() {
+        int customerId = given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Cliente Normalizado\", \"email\": \"Normalizado@Email.com\"}")
+                .when().post("/customers")
+                .then().statusCode(201).extract().path("id");
+        int profileId = given().contentType(ContentType.JSON)
+                .body("{\"address\": \"Rua das Palmeiras, 50\", \"phone\": \"(16) 91234-5678\", \"city\": \"Ribeirão Preto\", "
+                        + "\"state\": \"sp\", \"zipCode\": \"14010-000\", \"customer\": {\"id\": " + customerId + "}}")
+                .when().post("/profiles")
+                .then().statusCode(201).extract().path("id");
+
+        assertTrue(profileIds("/profiles/city/RIBEIRAO PRETO").contains(profileId));
+        assertTrue(profileIds("/profiles/state/SP").contains(profileId));
+        assertEquals((long) customerId, customerService.findByEmail(" normalizado@email.COM").orElseThrow().id);
+
+        given().contentType(ContentType.JSON)
+                .body("{\"address\": \"Rua das Palmeiras, 50\", \"phone\": \"(16) 91234-5678\", \"city\": \"São Carlos\", "
+                        + "\"state\": \"SP\", \"zipCode\": \"13560-000\"}")
+                .when().put("/profiles/" + profileId)
+                .then().statusCode(200);
+
+        assertFalse(profileIds("/profiles/city/Ribeirão Preto").contains(profileId));
+        assertTrue(profileIds("/profiles/city/sao carlos").contains(profileId));
+    }
+
+    private static List<Integer> profileIds(String path) {
+        return given().when().get(path).then().statusCode(200).extract().jsonPath().getList("id", Integer.class);
+    }
+}
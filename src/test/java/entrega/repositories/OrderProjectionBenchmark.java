@@ -0,0 +1,53 @@
+package entrega.repositories;
+
+import entrega.dtos.OrderDTO;
+import entrega.models.enums.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Custo de montar um OrderDTO a partir das linhas projetadas (pedido + itens), por número de itens
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderProjectionBenchmark {
+
+    @Param({"1", "10", "100"})
+    int items;
+
+    private Object[] orderRow;
+    private Object[][] itemRows;
+
+    @Setup
+    public void setUp() {
+        orderRow = new Object[] {1L, 1L, "João Silva", OrderStatus.NEW, LocalDateTime.now(), new BigDecimal("1234.50"), 0L};
+        itemRows = new Object[items][];
+        for (int i = 0; i < items; i++) {
+            itemRows[i] = new Object[] {1L, (long) i + 1, (long) i + 1, "Produto " + i, i % 5 + 1, new BigDecimal("19.90")};
+        }
+    }
+
+    @Benchmark
+    public OrderDTO toDTO() {
+        OrderDTO order = OrderRepository.toDTO(orderRow);
+        for (Object[] row : itemRows) {
+            order.items.add(OrderRepository.toItemDTO(row));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,93 @@
+package entrega.repositories;
+
+import entrega.dtos.OrderDTO;
+import entrega.models.Customer;
+import entrega.models.Order;
+import entrega.models.OrderItem;
+import entrega.models.Product;
+import entrega.models.enums.OrderStatus;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class OrderRepositoryTest {
+
+    @Inject
+    OrderRepository orderRepository;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    @TestTransaction
+    void dtoProjectionUsesConstantStatementCount() {
+        Customer customer = new Customer();
+        customer.name = "Cliente Projeção";
+        customer.email = "projecao@email.com";
+        entityManager.persist(customer);
+
+        Product mouse = product("Mouse Teste", "10.00");
+        Product teclado = product("Teclado Teste", "20.00");
+
+        createOrders(customer, 2, List.of(mouse, teclado));
+        long fewOrders = countStatements(() -> orderRepository.findDTOsByCustomerId(customer.id));
+
+        createOrders(customer, 30, List.of(mouse, teclado));
+        long manyOrders = countStatements(() -> orderRepository.findDTOsByCustomerId(customer.id));
+
+        assertEquals(2, fewOrders);
+        assertEquals(fewOrders, manyOrders);
+
+        List<OrderDTO> orders = orderRepository.findDTOsByCustomerId(customer.id);
+        assertEquals(32, orders.size());
+        assertEquals(2, orders.get(0).items.size());
+        assertEquals("Cliente Projeção", orders.get(0).customerName);
+
+        assertEquals(2, countStatements(() -> orderRepository.findDTOsByStatus(OrderStatus.NEW)));
+        assertEquals(2, countStatements(() -> orderRepository.findDTOPage(null, 10)));
+    }
+
+    private Product product(String name, String price) {
+        Product product = new Product();
+        product.name = name;
+        product.price = new BigDecimal(price);
+        entityManager.persist(product);
+        return product;
+    }
+
+    private void createOrders(Customer customer, int count, List<Product> products) {
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.customer = customer;
+            entityManager.persist(order);
+            for (Product product : products) {
+                OrderItem item = new OrderItem();
+                item.order = order;
+                item.product = product;
+                item.unitPrice = product.price;
+                entityManager.persist(item);
+            }
+        }
+    }
+
+    private long countStatements(Supplier<?> query) {
+        entityManager.flush();
+        entityManager.clear();
+        sessionFactory.getStatistics().clear();
+        query.get();
+        return sessionFactory.getStatistics().getPrepareStatementCount();
+    }
+}
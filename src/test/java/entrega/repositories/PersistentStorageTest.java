@@ -0,0 +1,53 @@
+package entrega.repositories;
+
+import entrega.monitoring.QueryPlanCheck;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Perfil persistent com o esquema das migrações do Flyway (em um H2 em memória, só para o teste)
+@QuarkusTest
+@TestProfile(PersistentStorageTest.PersistentProfile.class)
+class PersistentStorageTest {
+
+    public static class PersistentProfile implements QuarkusTestProfile {
+        @Override
+        public String getConfigProfile() {
+            return "persistent";
+        }
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.datasource.jdbc.url", "jdbc:h2:mem:persistent;DB_CLOSE_DELAY=-1");
+        }
+    }
+
+    @Inject
+    QueryPlanCheck queryPlanCheck;
+
+    @Test
+    void repositoryQueriesUseTheMigrationIndexes() {
+        assertEquals(List.of(), queryPlanCheck.problems());
+    }
+
+    @Test
+    void seedDataAndWritesUseTheMigratedSchema() {
+        given().when().get("/customers/1").then().statusCode(200).body("name", equalTo("Mauricio Silva"));
+
+        int id = given().contentType("application/json")
+                .body("{\"name\": \"Cliente Persistente\", \"email\": \"persistente@email.com\"}")
+                .when().post("/customers")
+                .then().statusCode(201).extract().path("id");
+        // Sequence reposicionada pela migração de dados iniciais
+        assertEquals(100, id);
+    }
+}
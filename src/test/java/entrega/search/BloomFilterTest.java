@@ -0,0 +1,38 @@
+package entrega.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("cliente" + i + "@email.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("cliente" + i + "@email.com"));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("ausente" + i + "@email.com")) {
+                falsePositives++;
+            }
+        }
+        // Taxa configurada de 1%, com folga
+        int found = falsePositives;
+        assertTrue(found < 300, () -> found + " falsos positivos em 10000");
+        assertTrue(filter.isFull());
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        assertFalse(filter.mightContain("mauricio@email.com"));
+        assertFalse(filter.isFull());
+    }
+}
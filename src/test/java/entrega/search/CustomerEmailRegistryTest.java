@@ -0,0 +1,99 @@
+package entrega.search;
+
+import entrega.dtos.CustomerDTO;
+import entrega.events.CustomerChangedEvent;
+import entrega.models.Customer;
+import entrega.monitoring.SqlAssertions;
+import entrega.repositories.CustomerRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Verificação de e-mail pelo registro em memória: HEAD /customers/email/{email} e recusa de duplicados (409)
+@QuarkusTest
+class CustomerEmailRegistryTest {
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    CustomerEmailRegistry customerEmailRegistry;
+
+    @Test
+    void headAnswersFromTheRegistryWithoutQueries() {
+        assertEquals(0, SqlAssertions.statementCount(
+                given().when().head("/customers/email/mauricio@email.com").then().statusCode(200).extract()));
+        given().when().head("/customers/email/MAURICIO@Email.com").then().statusCode(200);
+        assertEquals(0, SqlAssertions.statementCount(
+                given().when().head("/customers/email/ninguem@email.com").then().statusCode(404).extract()));
+    }
+
+    @Test
+    void lateEventsDoNotResurrectDeletedEmails() {
+        int id = given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Cliente Atrasado\", \"email\": \"atrasado@email.com\"}")
+                .when().post("/customers")
+                .then().statusCode(201).extract().path("id");
+        given().when().delete("/customers/" + id).then().statusCode(204);
+
+        // Evento de uma alteração concorrente entregue depois da exclusão
+        customerEmailRegistry.onCustomerChanged(new CustomerChangedEvent(CustomerChangedEvent.Type.UPDATED, (long) id,
+                new CustomerDTO((long) id, "Cliente Atrasado", "atrasado@email.com", 1L)));
+        given().when().head("/customers/email/atrasado@email.com").then().statusCode(404);
+        given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Cliente Novo\", \"email\": \"atrasado@email.com\"}")
+                .when().post("/customers")
+                .then().statusCode(201);
+    }
+
+    @Test
+    void duplicatesAreRejectedBeforeTheInsert() {
+        assertEquals(0, SqlAssertions.statementCount(given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Outro Mauricio\", \"email\": \"Mauricio@Email.com\"}")
+                .when().post("/customers")
+                .then().statusCode(409).extract()));
+
+        int id = given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Cliente Registro\", \"email\": \"registro@email.com\"}")
+                .when().post("/customers")
+                .then().statusCode(201).extract().path("id");
+        given().when().head("/customers/email/registro@email.com").then().statusCode(200);
+
+        // Trocar para o e-mail de outro cliente é recusado; manter o próprio e-mail não
+        given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Cliente Registro\", \"email\": \"ana@email.com\"}")
+                .when().put("/customers/" + id)
+                .then().statusCode(409);
+        given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Cliente Registro\", \"email\": \"Registro.Novo@email.com\"}")
+                .when().put("/customers/" + id)
+                .then().statusCode(200);
+        given().when().head("/customers/email/registro@email.com").then().statusCode(404);
+        given().when().head("/customers/email/registro.novo@email.com").then().statusCode(200);
+
+        given().when().delete("/customers/" + id).then().statusCode(204);
+        given().when().head("/customers/email/registro.novo@email.com").then().statusCode(404);
+    }
+
+    @Test
+    void variantsMissedByTheRegistryAreRejectedByTheUniqueIndex() {
+        // Gravado sem passar pelo CustomerService: o registro não fica sabendo, como em dois cadastros simultâneos
+        QuarkusTransaction.requiringNew().run(() -> {
+            Customer customer = new Customer();
+            customer.name = "Cliente Fora do Registro";
+            customer.email = "fora.registro@email.com";
+            customerRepository.persist(customer);
+        });
+        given().when().head("/customers/email/fora.registro@email.com").then().statusCode(404);
+
+        given().contentType(ContentType.JSON)
+                .body("{\"name\": \"Outro Cliente\", \"email\": \"Fora.Registro@Email.com\"}")
+                .when().post("/customers")
+                .then().statusCode(409);
+    }
+}
@@ -0,0 +1,52 @@
+package entrega.search;
+
+import entrega.dtos.CustomerDTO;
+import entrega.dtos.ProductDTO;
+import entrega.events.CustomerChangedEvent;
+import entrega.events.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Eventos fora da ordem dos commits não desfazem alterações mais novas nos índices de nomes
+class NameIndexOrderingTest {
+
+    @Test
+    void staleProductEventsAreIgnored() {
+        ProductNameIndex index = new ProductNameIndex();
+        index.onProductChanged(product(ProductChangedEvent.Type.CREATED, 1, "Teclado", 0));
+        index.onProductChanged(product(ProductChangedEvent.Type.UPDATED, 1, "Monitor", 2));
+        index.onProductChanged(product(ProductChangedEvent.Type.UPDATED, 1, "Teclado sem fio", 1));
+        assertEquals(List.of(), index.search("teclado"));
+        assertEquals(1, index.search("monitor").size());
+
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 1L, null));
+        index.onProductChanged(product(ProductChangedEvent.Type.UPDATED, 1, "Monitor curvo", 3));
+        assertEquals(List.of(), index.search("monitor"));
+    }
+
+    @Test
+    void staleCustomerEventsAreIgnored() {
+        CustomerNameIndex index = new CustomerNameIndex();
+        index.onCustomerChanged(customer(CustomerChangedEvent.Type.CREATED, 1, "Maria Silva", 0));
+        index.onCustomerChanged(customer(CustomerChangedEvent.Type.UPDATED, 1, "Maria Souza", 2));
+        index.onCustomerChanged(customer(CustomerChangedEvent.Type.UPDATED, 1, "Maria Santos", 1));
+        assertEquals(List.of(), index.search("santos"));
+        assertEquals(1, index.search("souza").size());
+
+        index.onCustomerChanged(new CustomerChangedEvent(CustomerChangedEvent.Type.DELETED, 1L, null));
+        index.onCustomerChanged(customer(CustomerChangedEvent.Type.UPDATED, 1, "Maria Souza", 3));
+        assertEquals(List.of(), index.search("souza"));
+    }
+
+    private static ProductChangedEvent product(ProductChangedEvent.Type type, long id, String name, long version) {
+        return new ProductChangedEvent(type, id, new ProductDTO(id, name, BigDecimal.TEN, null, version));
+    }
+
+    private static CustomerChangedEvent customer(CustomerChangedEvent.Type type, long id, String name, long version) {
+        return new CustomerChangedEvent(type, id, new CustomerDTO(id, name, "maria" + id + "@email.com", version));
+    }
+}
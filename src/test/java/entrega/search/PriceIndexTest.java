@@ -0,0 +1,110 @@
+package entrega.search;
+
+import entrega.dtos.ProductDTO;
+import entrega.events.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class PriceIndexTest {
+
+    private PriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PriceIndex();
+        create(1, "10.00");
+        create(2, "20.00");
+        create(3, "20.00");
+        create(4, "30.50");
+    }
+
+    @Test
+    void rangeIncludesBothEnds() {
+        assertArrayEquals(new long[] {1, 2, 3}, find("10.00", "20.00"));
+        assertArrayEquals(new long[] {2, 3, 4}, find("20", "30.50"));
+        // Frações de centavo não alargam a faixa
+        assertArrayEquals(new long[] {2, 3}, find("10.001", "30.499"));
+    }
+
+    @Test
+    void equalPricesAreOrderedByIdAndReversedWhenDescending() {
+        assertArrayEquals(new long[] {2, 3}, find("20.00", "20.00"));
+        assertArrayEquals(new long[] {3, 2}, index.findIds(new BigDecimal("20"), new BigDecimal("20"), 10, true));
+        assertArrayEquals(new long[] {4, 3}, index.findIds(new BigDecimal("0"), new BigDecimal("100"), 2, true));
+    }
+
+    @Test
+    void emptyAndInvertedRangesFindNothing() {
+        assertArrayEquals(new long[0], find("10.01", "19.99"));
+        assertArrayEquals(new long[0], find("40", "50"));
+        assertArrayEquals(new long[0], find("30", "10"));
+        assertArrayEquals(new long[0], new PriceIndex().findIds(BigDecimal.ZERO, BigDecimal.TEN, 10, false));
+    }
+
+    @Test
+    void boundsOutsideTheLongRangeAreClamped() {
+        assertArrayEquals(new long[] {1, 2, 3, 4}, find("-1E+30", "1E+30"));
+        assertArrayEquals(new long[] {1, 2, 3, 4}, find("-99999999999999999999", "99999999999999999999"));
+        assertArrayEquals(new long[0], find("1E+30", "1E+31"));
+        assertArrayEquals(new long[] {1}, find("1E-999999999", "10"));
+    }
+
+    @Test
+    void priceUpdateMovesTheEntry() {
+        update(2, "5.00");
+        assertArrayEquals(new long[] {2, 1, 3, 4}, find("0", "100"));
+        assertArrayEquals(new long[] {3}, find("20", "20"));
+        assertArrayEquals(new long[] {2}, find("5", "5"));
+    }
+
+    @Test
+    void deleteRemovesTheEntry() {
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 3L, null));
+        assertArrayEquals(new long[] {1, 2, 4}, find("0", "100"));
+
+        // Exclusão repetida não altera o índice
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 3L, null));
+        assertArrayEquals(new long[] {1, 2, 4}, find("0", "100"));
+    }
+
+    @Test
+    void staleEventsAreIgnored() {
+        update(2, "5.00", 2);
+        // Alteração mais antiga entregue depois da mais nova
+        update(2, "50.00", 1);
+        assertArrayEquals(new long[] {2}, find("5", "5"));
+        assertArrayEquals(new long[0], find("50", "50"));
+
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 3L, null));
+        update(3, "25.00", 1);
+        assertArrayEquals(new long[] {2, 1, 4}, find("0", "100"));
+    }
+
+    private long[] find(String min, String max) {
+        return index.findIds(new BigDecimal(min), new BigDecimal(max), Integer.MAX_VALUE, false);
+    }
+
+    private void create(long id, String price) {
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, id, product(id, price)));
+    }
+
+    private void update(long id, String price) {
+        update(id, price, 1);
+    }
+
+    private void update(long id, String price, long version) {
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, id, product(id, price, version)));
+    }
+
+    private static ProductDTO product(long id, String price) {
+        return product(id, price, 0);
+    }
+
+    private static ProductDTO product(long id, String price, long version) {
+        return new ProductDTO(id, "Produto " + id, new BigDecimal(price), null, version);
+    }
+}
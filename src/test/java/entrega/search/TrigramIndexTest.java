@@ -0,0 +1,46 @@
+package entrega.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrigramIndexTest {
+
+    @Test
+    void matchesSubstringsIgnoringCaseAndAccents() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put(1, "Teclado Mecânico", "teclado");
+        index.put(2, "Mouse Logitech", "mouse");
+        index.put(3, "Monitor 24\"", "monitor");
+
+        assertEquals(List.of("teclado"), index.search("MECANICO"));
+        assertEquals(List.of("teclado"), index.search("mecân"));
+        assertEquals(List.of("mouse", "monitor"), index.search("mo"));
+        assertEquals(List.of(), index.search("tecladox"));
+    }
+
+    @Test
+    void rejectsCandidatesThatOnlyShareTrigrams() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put(1, "abcd bcde", "spread");
+
+        // "abcde" tem todos os trigramas do texto, mas não é substring dele
+        assertEquals(List.of(), index.search("abcde"));
+    }
+
+    @Test
+    void reflectsUpdatesAndRemovals() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put(1, "Mouse Logitech", "v1");
+        index.put(1, "Mouse Razer", "v2");
+
+        assertEquals(List.of(), index.search("logitech"));
+        assertEquals(List.of("v2"), index.search("razer"));
+
+        index.remove(1);
+        assertEquals(List.of(), index.search("mouse"));
+        assertEquals(0, index.size());
+    }
+}
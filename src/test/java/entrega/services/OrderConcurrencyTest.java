@@ -0,0 +1,122 @@
+package entrega.services;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntUnaryOperator;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Várias requisições alterando o mesmo pedido ao mesmo tempo: nenhuma alteração pode se perder. Os conflitos
+// de versão são refeitos por OptimisticRetry (%test.api.optimistic-retry.max-attempts cobre todas as threads)
+@QuarkusTest
+class OrderConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Test
+    void concurrentAddsOfDistinctProductsAreAllKept() throws Exception {
+        int orderId = createOrder();
+        List<Integer> products = new ArrayList<>();
+        BigDecimal expectedTotal = BigDecimal.ZERO;
+        for (int i = 0; i < THREADS; i++) {
+            BigDecimal price = BigDecimal.valueOf(10 + i);
+            products.add(given().contentType(ContentType.JSON)
+                    .body(Map.of("name", "Produto concorrente " + orderId + "-" + i, "price", price))
+                    .when().post("/products")
+                    .then().statusCode(201).extract().path("id"));
+            expectedTotal = expectedTotal.add(price);
+        }
+
+        runConcurrently(i -> given().contentType(ContentType.JSON)
+                .when().post("/orders/" + orderId + "/products/" + products.get(i))
+                .then().extract().statusCode());
+
+        JsonPath order = given().when().get("/orders/" + orderId).then().statusCode(200).extract().jsonPath();
+        assertEquals(THREADS, order.getList("items").size());
+        assertEquals(0, expectedTotal.compareTo(new BigDecimal(order.getString("totalAmount"))));
+
+        List<Integer> items = order.getList("items.id", Integer.class);
+        runConcurrently(i -> given().contentType(ContentType.JSON)
+                .body(Map.of("quantity", 3))
+                .when().put("/orders/" + orderId + "/items/" + items.get(i))
+                .then().extract().statusCode());
+
+        order = given().when().get("/orders/" + orderId).then().statusCode(200).extract().jsonPath();
+        assertEquals(0, expectedTotal.multiply(BigDecimal.valueOf(3)).compareTo(new BigDecimal(order.getString("totalAmount"))));
+    }
+
+    @Test
+    void concurrentUpdatesAreAllApplied() throws Exception {
+        int orderId = createOrder();
+        long version = given().when().get("/orders/" + orderId).then().extract().jsonPath().getLong("version");
+
+        runConcurrently(i -> given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "status", i % 2 == 0 ? "PROCESSING" : "SHIPPED"))
+                .when().put("/orders/" + orderId)
+                .then().extract().statusCode(), 4);
+
+        long updated = given().when().get("/orders/" + orderId).then().extract().jsonPath().getLong("version");
+        assertTrue(updated >= version + 4, () -> "versão " + updated + " após 4 alterações a partir da " + version);
+    }
+
+    @Test
+    void concurrentAddsOfTheSameProductSumTheQuantity() throws Exception {
+        int orderId = createOrder();
+
+        runConcurrently(i -> given().contentType(ContentType.JSON)
+                .when().post("/orders/" + orderId + "/products/2")
+                .then().extract().statusCode());
+
+        JsonPath order = given().when().get("/orders/" + orderId).then().statusCode(200).extract().jsonPath();
+        assertEquals(1, order.getList("items").size());
+        assertEquals(THREADS, order.getInt("items[0].quantity"));
+        assertEquals(0, new BigDecimal("150.00").multiply(BigDecimal.valueOf(THREADS))
+                .compareTo(new BigDecimal(order.getString("totalAmount"))));
+    }
+
+    private static int createOrder() {
+        return given().contentType(ContentType.JSON)
+                .body(Map.of("customer", Map.of("id", 1), "items", List.of()))
+                .when().post("/orders")
+                .then().statusCode(201).extract().path("id");
+    }
+
+    private static void runConcurrently(IntUnaryOperator request) throws Exception {
+        runConcurrently(request, THREADS);
+    }
+
+    // Dispara as requisições juntas e exige 200 em todas
+    private static void runConcurrently(IntUnaryOperator request, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return request.applyAsInt(index);
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package entrega.services;
+
+import entrega.models.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Total do pedido: redução com stream (cálculo antigo), laço sobre os subtotais (addItems)
+// e atualização incremental de um único item (addProductToOrder)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "100"})
+    int items;
+
+    private List<OrderItem> orderItems;
+    private BigDecimal currentTotal;
+
+    @Setup
+    public void setUp() {
+        orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            OrderItem item = new OrderItem();
+            item.quantity = i % 5 + 1;
+            item.unitPrice = new BigDecimal("19.90").add(BigDecimal.valueOf(i, 2));
+            orderItems.add(item);
+        }
+        currentTotal = loop();
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return orderItems.stream()
+                .map(OrderItem::subtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal loop() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : orderItems) {
+            total = total.add(item.subtotal());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal incremental() {
+        OrderItem item = orderItems.get(orderItems.size() - 1);
+        return currentTotal.add(item.unitPrice.multiply(BigDecimal.valueOf(item.quantity)));
+    }
+}
@@ -0,0 +1,100 @@
+package entrega.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import entrega.dtos.ProductDTO;
+import entrega.events.ProductChangedEvent;
+import entrega.events.ProductsImportedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductCatalogTest {
+
+    private ProductCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ProductCatalog();
+        catalog.objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    void createdProductsAreKeptInIdOrder() {
+        catalog.onProductChanged(created(product(2, "Mouse", 0)));
+        catalog.onProductChanged(created(product(1, "Teclado", 0)));
+
+        ProductCatalog.Snapshot snapshot = catalog.snapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals(List.of("Teclado", "Mouse"), snapshot.products().stream().map(p -> p.name).toList());
+        assertTrue(new String(snapshot.findJson(2).orElseThrow(), StandardCharsets.UTF_8).contains("\"name\":\"Mouse\""));
+    }
+
+    @Test
+    void updateReplacesTheEntry() {
+        catalog.onProductChanged(created(product(1, "Teclado", 0)));
+        catalog.onProductChanged(updated(product(1, "Teclado mecânico", 1)));
+
+        assertEquals("Teclado mecânico", catalog.snapshot().find(1).orElseThrow().name);
+        assertTrue(new String(catalog.snapshot().findJson(1).orElseThrow(), StandardCharsets.UTF_8).contains("mecânico"));
+    }
+
+    @Test
+    void deleteRemovesTheEntry() {
+        catalog.onProductChanged(created(product(1, "Teclado", 0)));
+        catalog.onProductChanged(created(product(2, "Mouse", 0)));
+        catalog.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 1L, null));
+
+        assertTrue(catalog.snapshot().find(1).isEmpty());
+        assertEquals(1, catalog.snapshot().size());
+    }
+
+    @Test
+    void staleEventsDoNotOverwriteNewerEntries() {
+        catalog.onProductChanged(created(product(1, "Teclado", 0)));
+        catalog.onProductChanged(updated(product(1, "Versão 2", 2)));
+        ProductCatalog.Snapshot before = catalog.snapshot();
+
+        // Commits concorrentes: o evento da versão 1 chega depois do da versão 2
+        catalog.onProductChanged(updated(product(1, "Versão 1", 1)));
+        assertSame(before, catalog.snapshot());
+        assertEquals("Versão 2", catalog.snapshot().find(1).orElseThrow().name);
+
+        // Evento de alteração atrasado depois da exclusão não recoloca o produto
+        catalog.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 1L, null));
+        catalog.onProductChanged(updated(product(1, "Versão 3", 3)));
+        assertTrue(catalog.snapshot().find(1).isEmpty());
+    }
+
+    @Test
+    void importedBlocksSkipStaleProducts() {
+        catalog.onProductChanged(created(product(1, "Teclado", 0)));
+        catalog.onProductChanged(updated(product(1, "Teclado novo", 3)));
+
+        catalog.onProductsImported(new ProductsImportedEvent(List.of(
+                updated(product(1, "Teclado antigo", 2)),
+                created(product(3, "Monitor", 0)),
+                created(product(2, "Mouse", 0)))));
+
+        ProductCatalog.Snapshot snapshot = catalog.snapshot();
+        assertEquals(List.of("Teclado novo", "Mouse", "Monitor"), snapshot.products().stream().map(p -> p.name).toList());
+    }
+
+    private static ProductChangedEvent created(ProductDTO product) {
+        return new ProductChangedEvent(ProductChangedEvent.Type.CREATED, product.id, product);
+    }
+
+    private static ProductChangedEvent updated(ProductDTO product) {
+        return new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, product.id, product);
+    }
+
+    private static ProductDTO product(long id, String name, long version) {
+        return new ProductDTO(id, name, new BigDecimal("10.00"), null, version);
+    }
+}